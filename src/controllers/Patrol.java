@@ -31,6 +31,8 @@ public class Patrol implements Controller {
 
     public void setObject(GameObject object) { this.object = object; }
 
+    public Point[] getPoints() { return points.clone(); }
+
     /**
      * Modifies the GameObject's actions according to the steering behaviour.
      * The GameObject's direction is set according to its position in relation to the destination point.
@@ -20,6 +20,11 @@ public class RandomMovement implements Controller {
     }
 
     public Action getAction() { return action; }
+
+    /**
+     * @return whether or not the GameObject is stationary between random moves
+     */
+    public boolean isStop() { return !action.isMoving(); }
     public void setAction(Action action) { this.action = action; }
 
     /**
@@ -0,0 +1,59 @@
+package game;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.awt.image.BufferStrategy;
+import java.util.function.Consumer;
+
+/**
+ * Presents frames through a BufferStrategy instead of the Swing RepaintManager.
+ * Frames are drawn and flipped by whichever thread calls render (the game loop), so presentation happens exactly
+ * when the loop asks for it rather than whenever Swing coalesces a repaint.
+ */
+class ActiveRenderView extends Canvas {
+    private final Consumer<Graphics> painter;
+
+    /**
+     * Class constructor.
+     * The mouse listeners of the source component are attached to the canvas, so input is handled as before.
+     *
+     * @param source the Swing component this canvas replaces
+     * @param painter draws one frame
+     */
+    ActiveRenderView(JComponent source, Consumer<Graphics> painter) {
+        this.painter = painter;
+        for (MouseListener listener : source.getMouseListeners()) { addMouseListener(listener); }
+        for (MouseMotionListener listener : source.getMouseMotionListeners()) { addMouseMotionListener(listener); }
+        setPreferredSize(new Dimension(Game.getWidth(), Game.getHeight()));
+        setIgnoreRepaint(true);
+        setFocusable(false);
+    }
+
+    /**
+     * Draws and presents one frame.
+     * Does nothing until the canvas is displayable, as a BufferStrategy can't be created before then.
+     */
+    void render() {
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) {
+            if (!isDisplayable()) { return; }
+            createBufferStrategy(2);
+            strategy = getBufferStrategy();
+        }
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                try {
+                    g.setColor(Color.black);
+                    g.fillRect(0, 0, getWidth(), getHeight());
+                    painter.accept(g);
+                }
+                finally { g.dispose(); }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
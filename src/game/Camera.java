@@ -8,6 +8,8 @@ public class Camera {
     private int y;
     private int gX;
     private int gY;
+    private int prevGX;
+    private int prevGY;
     private int diffX = gX - (x * 32);
     private int diffY = gY-(y * 32);
 
@@ -22,6 +24,7 @@ public class Camera {
         this.y = y;
         this.gX = x * 32;
         this.gY = y * 32;
+        snap();
     }
 
     public int getX() { return x; }
@@ -40,6 +43,19 @@ public class Camera {
 
     int getDiffY() { return diffY; }
 
+    int getPrevGX() { return prevGX; }
+
+    int getPrevGY() { return prevGY; }
+
+    /**
+     * Stores the current graphical co-ordinates as the start point for render interpolation.
+     * Called at the start of every tick, and whenever the camera jumps to a new location.
+     */
+    public void snap() {
+        prevGX = gX;
+        prevGY = gY;
+    }
+
     /**
      * Normalises the graphical co-ordinate in relation to the game frame.
      */
@@ -0,0 +1,142 @@
+package game;
+
+import objects.TileTable;
+
+import java.util.Arrays;
+
+/**
+ * Marks the cells of a map whose tiles have any of a set of TileTable flags, one bit per cell.
+ * The bits are kept per MapGrid chunk, and a chunk's bits are only worked out the first time one of its cells is
+ * looked at, so a chunk nobody goes near is never read. Each row of a chunk is one int, and so is each column, so a
+ * segment of a row or of a column is scanned 32 cells at a time.
+ * If the TileTable's version changes, e.g. after an air vent update, the chunks are worked out again as they are
+ * next looked at. Co-ordinates must be inside the map.
+ */
+class CellMask {
+    private static final int SHIFT = MapGrid.CHUNK_SHIFT;
+    private static final int SIZE = MapGrid.CHUNK_SIZE;
+    private static final int MASK = SIZE - 1;
+
+    private final MapGrid grid;
+    private final TileTable tiles;
+    private final int flags;
+    private final int chunkColumns;
+    private final int[][] byRow;
+    private final int[][] byColumn;
+    private int version;
+
+    /**
+     * Class constructor.
+     *
+     * @param grid the map's tile keys
+     * @param tiles the map's tiles
+     * @param flags the TileTable flags to mark
+     */
+    CellMask(MapGrid grid, TileTable tiles, int flags) {
+        this.grid = grid;
+        this.tiles = tiles;
+        this.flags = flags;
+        chunkColumns = (grid.getColumns() + MASK) >> SHIFT;
+        int chunks = ((grid.getRows() + MASK) >> SHIFT) * chunkColumns;
+        byRow = new int[chunks][];
+        byColumn = new int[chunks][];
+        version = tiles.getVersion();
+    }
+
+    /**
+     * Works out a chunk's bits, unless they are already known.
+     *
+     * @param cy the row of the chunk
+     * @param cx the column of the chunk
+     * @return the index of the chunk
+     */
+    int compileChunk(int cy, int cx) {
+        if (version != tiles.getVersion()) {
+            Arrays.fill(byRow, null);
+            Arrays.fill(byColumn, null);
+            version = tiles.getVersion();
+        }
+        int chunk = cy * chunkColumns + cx;
+        if (byRow[chunk] != null) { return chunk; }
+        int[] rows = new int[SIZE];
+        int[] columns = new int[SIZE];
+        for (int j = 0; j < SIZE; j++) {
+            for (int i = 0; i < SIZE; i++) {
+                if ((tiles.getFlags(grid.getUnchecked((cy << SHIFT) + j, (cx << SHIFT) + i)) & flags) != 0) {
+                    rows[j] |= 1 << i;
+                    columns[i] |= 1 << j;
+                }
+            }
+        }
+        byRow[chunk] = rows;
+        byColumn[chunk] = columns;
+        return chunk;
+    }
+
+    boolean get(int y, int x) {
+        int[] rows = byRow[compileChunk(y >> SHIFT, x >> SHIFT)];
+        return (rows[y & MASK] & (1 << x)) != 0;
+    }
+
+    /**
+     * Finds the first marked cell in a segment of a row.
+     *
+     * @param y the row
+     * @param from the column to start at
+     * @param to the column to finish at (inclusive), which may be before from to scan leftwards
+     * @return the column of the first marked cell, or -1 if there is none
+     */
+    int firstInRow(int y, int from, int to) {
+        int cy = y >> SHIFT;
+        if (from <= to) {
+            for (int cx = from >> SHIFT; cx <= to >> SHIFT; cx++) {
+                int bits = byRow[compileChunk(cy, cx)][y & MASK] & above(from, cx) & below(to, cx);
+                if (bits != 0) { return (cx << SHIFT) + Integer.numberOfTrailingZeros(bits); }
+            }
+        }
+        else {
+            for (int cx = from >> SHIFT; cx >= to >> SHIFT; cx--) {
+                int bits = byRow[compileChunk(cy, cx)][y & MASK] & above(to, cx) & below(from, cx);
+                if (bits != 0) { return (cx << SHIFT) + MASK - Integer.numberOfLeadingZeros(bits); }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first marked cell in a segment of a column.
+     *
+     * @param x the column
+     * @param from the row to start at
+     * @param to the row to finish at (inclusive), which may be before from to scan upwards
+     * @return the row of the first marked cell, or -1 if there is none
+     */
+    int firstInColumn(int x, int from, int to) {
+        int cx = x >> SHIFT;
+        if (from <= to) {
+            for (int cy = from >> SHIFT; cy <= to >> SHIFT; cy++) {
+                int bits = byColumn[compileChunk(cy, cx)][x & MASK] & above(from, cy) & below(to, cy);
+                if (bits != 0) { return (cy << SHIFT) + Integer.numberOfTrailingZeros(bits); }
+            }
+        }
+        else {
+            for (int cy = from >> SHIFT; cy >= to >> SHIFT; cy--) {
+                int bits = byColumn[compileChunk(cy, cx)][x & MASK] & above(to, cy) & below(from, cy);
+                if (bits != 0) { return (cy << SHIFT) + MASK - Integer.numberOfLeadingZeros(bits); }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the bits of a chunk's row or column from a cell onwards, or all of them if the cell is in an earlier
+     *         chunk
+     */
+    private static int above(int cell, int chunk) { return cell >> SHIFT < chunk ? -1 : -1 << cell; }
+
+    /**
+     * @return the bits of a chunk's row or column up to a cell (inclusive), or all of them if the cell is in a later
+     *         chunk
+     */
+    private static int below(int cell, int chunk) { return cell >> SHIFT > chunk ? -1 : -1 >>> (MASK - (cell & MASK)); }
+}
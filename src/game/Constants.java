@@ -14,6 +14,56 @@ public class Constants {
     public static final int LEFT_TILE = 8;
     public static final int RIGHT_TILE = 3;
 
+    /* Walking speed in tiles per second (the original loop moved 8 pixels every 70 ms) */
+    public static final double WALK_SPEED = 25.0 / 7;
+
+    /* Whether walking through a door cuts straight to the next map instead of fading through black. Each map is
+     * still its own space with its own camera; the maps behind nearby doors have their masks and background chunks
+     * around the arrival point prepared ahead of time, so the cut doesn't wait on a load or a render */
+    public static final boolean INSTANT_DOORS = Boolean.getBoolean("game.instantDoors");
+
+    /* Whether a map without a current compiled map (see MapFile) has one built next to its text file when it is
+     * loaded. Off, maps without one are read from their text files */
+    static final boolean COMPILE_MAPS = Boolean.parseBoolean(System.getProperty("game.compileMaps", "true"));
+
+    /* Distance in tiles from a door at which the map behind it is prepared */
+    static final int PREFETCH_DISTANCE = 4;
+
+    /* Most maps whose MapBackgrounds are kept, i.e. the current map and the maps behind nearby doors */
+    static final int BACKGROUND_MAPS = 3;
+
     static final int FRAME_WIDTH = 480;
     static final int FRAME_HEIGHT = 480;
+
+    /* Window pixels per tileset pixel. The world is drawn unscaled into a frame of FRAME_WIDTH / SCALE by
+     * FRAME_HEIGHT / SCALE pixels, which is then scaled up to the window in one blit */
+    static final int SCALE = 2;
+
+    /* Most chunks of a map read from its text file kept on the heap, at 2KB each (see MapGrid) */
+    static final int RESIDENT_CHUNKS = Integer.getInteger("game.residentChunks", 64);
+
+    /* Most map chunks a MapBackground keeps pre-rendered, at 512x512 pixels each */
+    static final int BACKGROUND_CHUNKS = Integer.getInteger("game.backgroundChunks", 16);
+
+    /* Simulation ticks per second (the original loop slept 70 ms per tick) and maximum rendered frames per second */
+    static final double TICK_RATE = Double.parseDouble(System.getProperty("game.tickRate", "14.2857"));
+    static final int FRAME_RATE = Integer.getInteger("game.frameRate", 60);
+
+    /* Length of the blackout when walking through a door or starting an activity */
+    static final double TRANSITION_SECONDS = 0.2;
+
+    /* Simulation ticks per second while a TextBox or Menu is open */
+    static final int IDLE_TICK_RATE = Integer.getInteger("game.idleTickRate", 10);
+
+    /* Milliseconds of deferred work (see TaskScheduler) run in each tick */
+    static final double TASK_BUDGET_MILLIS = Double.parseDouble(System.getProperty("game.taskBudget", "2"));
+
+    /* Frames per second on the title screen, which only changes in response to input */
+    static final int TITLE_FRAME_RATE = Integer.getInteger("game.titleFrameRate", 15);
+
+    /* Whether frames are presented through a BufferStrategy by the game loop rather than Swing repaints */
+    static final boolean ACTIVE_RENDERING = "active".equals(System.getProperty("game.renderer"));
+
+    /* Whether the renderer reports images that aren't compatible with the screen (see utilities.ImageLoader) */
+    public static final boolean CHECK_IMAGES = Boolean.getBoolean("game.checkImages");
 }
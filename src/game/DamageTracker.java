@@ -0,0 +1,227 @@
+package game;
+
+import utilities.Menu;
+import utilities.StatusMenu;
+import utilities.TextBox;
+import utilities.TextureAtlas;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+
+/**
+ * Works out which parts of the screen need repainting.
+ * Each published RenderSnapshot is compared with the one before it. The areas of the sprites, Emotions, raycast
+ * marks and UI that changed are damaged once, and the areas swept by sprites moving during the tick are damaged on
+ * every frame until the next tick, as the renderer interpolates them. The camera scrolling, a new map or tile, and
+ * the transition screens damage the whole frame, as does anything else the tracker can't compare.
+ * Until a snapshot of the map has been captured, the whole frame is repainted every frame.
+ * Rectangles are in window pixels.
+ */
+class DamageTracker {
+    private boolean full;
+    private Rectangle dirty;
+    private boolean animatingFull;
+    private Rectangle animating;
+
+    private boolean hasPrevious;
+    private MapGrid grid;
+    private int tilesVersion;
+    private int cameraGX;
+    private int cameraGY;
+    private int originX;
+    private int originY;
+    private int columns;
+    private int rows;
+    private boolean[] bad = new boolean[0];
+    private int spriteCount;
+    private int[] sprites = new int[0];
+    private int[] emotions = new int[0];
+    private int[] spritePrevGX = new int[0];
+    private int[] spritePrevGY = new int[0];
+    private int[] spriteGX = new int[0];
+    private int[] spriteGY = new int[0];
+    private Rectangle modalBounds;
+    private BufferedImage statusImg;
+    private String statusText;
+    private String statusSubText;
+    private Color[] statusColours = new Color[0];
+
+    /**
+     * Compares a newly published snapshot with the previous one.
+     *
+     * @param s the snapshot
+     */
+    void capture(RenderSnapshot s) {
+        boolean scene = s.ready && !s.transitionScreen && !s.blackout && !s.result;
+        boolean scrolling = s.cameraPrevGX != s.cameraGX || s.cameraPrevGY != s.cameraGY;
+        if (!scene || !hasPrevious || animatingFull || scrolling || s.cameraGX != cameraGX || s.cameraGY != cameraGY ||
+                s.grid != grid || s.tiles.getVersion() != tilesVersion) {
+            full = true;
+        }
+        else {
+            damage(animating);
+            captureBad(s);
+            captureSprites(s);
+            captureUi(s);
+        }
+        if (s.debug) { damage(new Rectangle(0, Game.getHeight() - 16, Game.getWidth(), 16)); }
+        if (scene) { remember(s); }
+        else { hasPrevious = false; }
+        animatingFull = scene && scrolling;
+        animating = scene && !scrolling ? getMoving(s) : null;
+    }
+
+    /**
+     * Requests a repaint of the damaged parts of a view, and starts collecting damage for the next frame.
+     *
+     * @param view the view
+     */
+    void present(Component view) {
+        if (full || animatingFull || !hasPrevious) { view.repaint(); }
+        else {
+            Rectangle region = animating == null ? dirty : dirty == null ? animating : dirty.union(animating);
+            if (region != null) { view.repaint(region.x, region.y, region.width, region.height); }
+        }
+        full = false;
+        dirty = null;
+    }
+
+    private void damage(Rectangle area) {
+        if (area == null || area.isEmpty()) { return; }
+        dirty = dirty == null ? new Rectangle(area) : dirty.union(area);
+    }
+
+    /**
+     * Damages the raycast marks that were added or removed. The camera hasn't moved, so both snapshots cover the
+     * same tiles.
+     */
+    private void captureBad(RenderSnapshot s) {
+        for (int j = 0; j < rows; j++) {
+            for (int i = 0; i < columns; i++) {
+                if (bad[j * columns + i] != s.bad[j * columns + i]) {
+                    damage(new Rectangle((originX + i) * 32 - cameraGX, (originY + j) * 32 - cameraGY, 32, 32));
+                }
+            }
+        }
+    }
+
+    /**
+     * Damages the old and new areas of each sprite that changed. Sprites are listed in the order of the objects
+     * list, so the same index is the same GameObject unless sprites were added or removed.
+     */
+    private void captureSprites(RenderSnapshot s) {
+        boolean sameSprites = s.spriteCount == spriteCount;
+        for (int i = 0; i < spriteCount; i++) {
+            if (!sameSprites || sprites[i] != s.sprites[i] || emotions[i] != s.emotions[i] ||
+                    spritePrevGX[i] != s.spritePrevGX[i] || spritePrevGY[i] != s.spritePrevGY[i] ||
+                    spriteGX[i] != s.spriteGX[i] || spriteGY[i] != s.spriteGY[i]) {
+                damage(getSpriteBounds(spritePrevGX[i], spritePrevGY[i], spriteGX[i], spriteGY[i], emotions[i]));
+                if (sameSprites) { damage(getSpriteBounds(s, i)); }
+            }
+        }
+        if (!sameSprites) {
+            for (int i = 0; i < s.spriteCount; i++) { damage(getSpriteBounds(s, i)); }
+        }
+    }
+
+    /**
+     * Damages any open TextBox or Menu, which can change without being replaced, and the StatusMenu if its text
+     * changed.
+     */
+    private void captureUi(RenderSnapshot s) {
+        damage(modalBounds);
+        damage(getModalBounds(s));
+        if (s.statusImg != statusImg || (s.statusImg != null && (!Objects.equals(s.statusText, statusText) ||
+                !Objects.equals(s.statusSubText, statusSubText) || !sameColours(s.statusColours)))) {
+            if (statusImg != null) { damage(StatusMenu.getBounds(statusImg)); }
+            if (s.statusImg != null) { damage(StatusMenu.getBounds(s.statusImg)); }
+        }
+    }
+
+    /**
+     * @return the area covered by the snapshot's TextBox and Menu, or null if neither is open
+     */
+    private static Rectangle getModalBounds(RenderSnapshot s) {
+        Rectangle bounds = null;
+        if (s.textBoxImg != null) { bounds = TextBox.getBounds(s.textBoxId, s.textBoxImg, s.textBoxNpcImg); }
+        if (s.menuImg != null) {
+            Rectangle menu = Menu.getBounds(s.menuId, s.menuImg, s.menuMapImg, s.menuSubImg);
+            bounds = bounds == null ? menu : bounds.union(menu);
+        }
+        return bounds;
+    }
+
+    private boolean sameColours(Color[] colours) {
+        for (int i = 0; i < colours.length; i++) {
+            if (i >= statusColours.length || !Objects.equals(colours[i], statusColours[i])) { return false; }
+        }
+        return true;
+    }
+
+    /**
+     * @return the area swept by the sprites that move during the snapshot's tick
+     */
+    private Rectangle getMoving(RenderSnapshot s) {
+        Rectangle moving = null;
+        for (int i = 0; i < s.spriteCount; i++) {
+            if (s.spritePrevGX[i] != s.spriteGX[i] || s.spritePrevGY[i] != s.spriteGY[i]) {
+                Rectangle bounds = getSpriteBounds(s, i);
+                moving = moving == null ? bounds : moving.union(bounds);
+            }
+        }
+        return moving;
+    }
+
+    private Rectangle getSpriteBounds(RenderSnapshot s, int i) {
+        return getSpriteBounds(s.spritePrevGX[i], s.spritePrevGY[i], s.spriteGX[i], s.spriteGY[i], s.emotions[i]);
+    }
+
+    /**
+     * @return the area a sprite covers between its previous and current position, including its Emotion and a
+     *         margin for the rounding of positions to the frame's pixels
+     */
+    private Rectangle getSpriteBounds(int prevGX, int prevGY, int gx, int gy, int emotion) {
+        int top = Math.min(prevGY, gy) - (emotion != TextureAtlas.NONE ? 32 : 0);
+        int left = Math.min(prevGX, gx);
+        Rectangle bounds = new Rectangle(left - cameraGX, top - cameraGY, Math.max(prevGX, gx) + 32 - left,
+                Math.max(prevGY, gy) + 32 - top);
+        bounds.grow(Constants.SCALE, Constants.SCALE);
+        return bounds;
+    }
+
+    private void remember(RenderSnapshot s) {
+        hasPrevious = true;
+        grid = s.grid;
+        tilesVersion = s.tiles.getVersion();
+        cameraGX = s.cameraGX;
+        cameraGY = s.cameraGY;
+        originX = s.originX;
+        originY = s.originY;
+        columns = s.columns;
+        rows = s.rows;
+        if (bad.length < rows * columns) { bad = new boolean[rows * columns]; }
+        System.arraycopy(s.bad, 0, bad, 0, rows * columns);
+        spriteCount = s.spriteCount;
+        if (sprites.length < spriteCount) {
+            sprites = new int[s.sprites.length];
+            emotions = new int[s.sprites.length];
+            spritePrevGX = new int[s.sprites.length];
+            spritePrevGY = new int[s.sprites.length];
+            spriteGX = new int[s.sprites.length];
+            spriteGY = new int[s.sprites.length];
+        }
+        System.arraycopy(s.sprites, 0, sprites, 0, spriteCount);
+        System.arraycopy(s.emotions, 0, emotions, 0, spriteCount);
+        System.arraycopy(s.spritePrevGX, 0, spritePrevGX, 0, spriteCount);
+        System.arraycopy(s.spritePrevGY, 0, spritePrevGY, 0, spriteCount);
+        System.arraycopy(s.spriteGX, 0, spriteGX, 0, spriteCount);
+        System.arraycopy(s.spriteGY, 0, spriteGY, 0, spriteCount);
+        modalBounds = getModalBounds(s);
+        statusImg = s.statusImg;
+        statusText = s.statusText;
+        statusSubText = s.statusSubText;
+        if (statusColours.length < s.statusColours.length) { statusColours = new Color[s.statusColours.length]; }
+        System.arraycopy(s.statusColours, 0, statusColours, 0, s.statusColours.length);
+    }
+}
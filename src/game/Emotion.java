@@ -1,28 +1,29 @@
 package game;
 
-import objects.GameObject;
+import utilities.TextureAtlas;
 import utilities.TileSet;
 
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.Objects;
 
-import static game.Game.GAME;
-
 /**
  * Displays an emoticon-like symbol above GameObjects for visual feedback.
  */
 public class Emotion {
     private static ArrayList<BufferedImage> images;
+    private static int[] sprites;
 
     private int lifetime;
     private BufferedImage image;
+    private int sprite;
 
     static {
         try {
             images = new ArrayList<>(Objects.requireNonNull(
                     TileSet.readTileSet(3, 3, "resources/tilesets/emotions.png")));
+            sprites = new int[images.size()];
+            for (int i = 0; i < sprites.length; i++) { sprites[i] = TextureAtlas.getHandle(images.get(i)); }
         } catch (NullPointerException e) { System.out.println("Unable to read tileset"); }
     }
 
@@ -36,22 +37,20 @@ public class Emotion {
         lifetime = 30;
         try {
             image = images.get(id);
+            sprite = sprites[id];
         } catch (NullPointerException e) {
             image = null;
+            sprite = TextureAtlas.NONE;
         }
     }
 
     public int getLifetime() { return lifetime; }
     public void decreaseLifetime() { lifetime--; }
 
+    public BufferedImage getImage() { return image; }
+
     /**
-     * Renders the Emotion one tile above the specified GameObject.
-     *
-     * @param g the graphics
-     * @param character the GameObject that will be drawn above
+     * @return the handle of the Emotion's image in the TextureAtlas, or TextureAtlas.NONE if it has no image
      */
-    public void paintComponent(Graphics g, GameObject character) {
-        g.drawImage(image, character.getGX() - GAME.getCamera().getGX(),
-                character.getGY() - GAME.getCamera().getGY() - 32, 32, 32, null);
-    }
+    public int getSprite() { return sprite; }
 }
@@ -0,0 +1,112 @@
+package game;
+
+/**
+ * Decides when frames are rendered and waits out the rest of each frame's budget.
+ * Update and render durations are measured so rendering can be skipped when a frame would overrun; simulation
+ * ticks are never skipped. The achieved frame rate and the number of skipped frames are kept for the debug overlay.
+ */
+class FramePacer {
+    private static final long SPIN_NANOS = 1_000_000;
+    private static final int MAX_SKIPS = 5;
+    private static final double SMOOTHING = 0.1;
+
+    private final long frameNanos;
+    private final Object signal = new Object();
+    private boolean woken;
+
+    private double updateNanos;
+    private double renderNanos;
+    private int skips;
+    private volatile long skipped;
+
+    private long windowStart = System.nanoTime();
+    private int windowFrames;
+    private volatile double fps;
+
+    /**
+     * Class constructor.
+     *
+     * @param frameRate the target number of rendered frames per second
+     */
+    FramePacer(int frameRate) { frameNanos = 1_000_000_000L / Math.max(frameRate, 1); }
+
+    long getFrameNanos() { return frameNanos; }
+
+    double getFps() { return fps; }
+
+    long getSkipped() { return skipped; }
+
+    double getUpdateMillis() { return updateNanos / 1_000_000; }
+
+    double getRenderMillis() { return renderNanos / 1_000_000; }
+
+    void recordUpdate(long nanos) { updateNanos += (nanos - updateNanos) * SMOOTHING; }
+
+    /**
+     * Records a rendered frame and updates the achieved frame rate once a second.
+     *
+     * @param nanos the time taken to render the frame
+     */
+    void recordRender(long nanos) {
+        renderNanos += (nanos - renderNanos) * SMOOTHING;
+        skips = 0;
+        windowFrames++;
+        long now = System.nanoTime();
+        if (now - windowStart >= 1_000_000_000L) {
+            fps = windowFrames * 1e9 / (now - windowStart);
+            windowFrames = 0;
+            windowStart = now;
+        }
+    }
+
+    /**
+     * Decides whether to render this frame.
+     * A frame is skipped if the simulation is behind or rendering would overrun the frame's budget, but never more
+     * than a few frames in a row, so the screen keeps updating on a machine that can't keep up.
+     *
+     * @param frameStart when the frame started
+     * @param behind whether or not the simulation has a backlog of ticks
+     * @return whether or not to render
+     */
+    boolean shouldRender(long frameStart, boolean behind) {
+        boolean late = System.nanoTime() - frameStart + renderNanos > frameNanos;
+        if ((behind || late) && skips < MAX_SKIPS) {
+            skips++;
+            skipped++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Waits until the deadline or until woken.
+     * Most of the wait is spent blocked on a monitor, the last millisecond is spent yielding, as sleeps tend to
+     * overshoot by about that much.
+     *
+     * @param deadline the System.nanoTime at which to return
+     * @return whether or not the wait was cut short by wake
+     * @throws InterruptedException if the game thread is interrupted while waiting
+     */
+    boolean waitUntil(long deadline) throws InterruptedException {
+        long remaining = deadline - System.nanoTime() - SPIN_NANOS;
+        synchronized (signal) {
+            if (!woken && remaining > 0) { signal.wait(remaining / 1_000_000, (int) (remaining % 1_000_000)); }
+            if (woken) {
+                woken = false;
+                return true;
+            }
+        }
+        while (System.nanoTime() < deadline) { Thread.yield(); }
+        return false;
+    }
+
+    /**
+     * Cuts the current wait short, e.g. when a state change should be handled straight away.
+     */
+    void wake() {
+        synchronized (signal) {
+            woken = true;
+            signal.notifyAll();
+        }
+    }
+}
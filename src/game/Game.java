@@ -1,5 +1,6 @@
 package game;
 
+import controllers.Controller;
 import controllers.Keys;
 import lessons.Exam;
 import lessons.Lesson;
@@ -18,6 +19,7 @@ import java.util.List;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * Stores game data and runs the application
@@ -30,7 +32,7 @@ public class Game implements Serializable {
     private static int cameraHeight;
     private static int cameraWidth;
 
-    private static boolean running = true;
+    private static volatile boolean running = true;
 
     private static String[] timePeriods;
     private static String[] conditions;
@@ -45,7 +47,7 @@ public class Game implements Serializable {
     private int playerY;
     private int playerCondition;
     private int mapId;
-    private long transitionTime;
+    private int transitionTicks;
     private boolean isTransition;
     private boolean isNewGame;
     private boolean isNewDay;
@@ -55,14 +57,14 @@ public class Game implements Serializable {
     private boolean gotQuestions;
     private boolean isSpotted;
     private boolean isResult;
-    private boolean isFinish;
+    private volatile boolean isFinish;
     private boolean hasLostHeist;
     private boolean hasWonHeist;
     private boolean isSuspended;
     private boolean isExams;
     private boolean preExam;
     private boolean emilyCrush;
-    private boolean isTitle = true;
+    private volatile boolean isTitle = true;
     private boolean isDebug;
     private String newDayText;
 
@@ -86,17 +88,35 @@ public class Game implements Serializable {
     private transient Exam exam;
     private transient Clip music;
     private transient JFrame frame;
-
-    private transient int[][] badTileMatrix;
-    private transient char[][] tileMatrix;
+    private transient GameLoop loop;
+    private transient TaskScheduler scheduler;
+    private transient IdlePolicy idlePolicy;
+    private transient DamageTracker damage;
+    private transient Component view;
+    private transient TripleBuffer<RenderSnapshot> snapshots;
+    private transient String transitionText;
+
+    private transient boolean[] badTileMatrix;
+    private transient int[] badTileMarks;
+    private transient int badTileCount;
     private transient List<GameObject> objects;
-    private transient GameObject[][] objectMatrix;
+    private transient SpatialIndex objectIndex;
+    private transient int[] occupiedX;
+    private transient int[] occupiedY;
+    private transient boolean objectsStale;
+    private transient int objectsMapId;
+    private transient int objectsTime;
+    private transient Player objectsPlayer;
 
     /**
      * Class constructor.
      */
     private Game() {
         objects = new ArrayList<>();
+        occupiedX = new int[0];
+        occupiedY = new int[0];
+        scheduler = new TaskScheduler(Constants.TASK_BUDGET_MILLIS);
+        idlePolicy = new IdlePolicy();
         ctrl = new Keys();
         height = Constants.FRAME_HEIGHT;
         width = Constants.FRAME_WIDTH;
@@ -110,7 +130,10 @@ public class Game implements Serializable {
     static int getCameraHeight() { return cameraHeight; }
     static int getCameraWidth() { return cameraWidth; }
 
-    public static void setRunning(boolean running) { Game.running = running; }
+    public static void setRunning(boolean running) {
+        Game.running = running;
+        if (GAME.loop != null) { GAME.loop.wake(); }
+    }
 
     public static String[] getTimePeriods() { return timePeriods; }
 
@@ -202,6 +225,20 @@ public class Game implements Serializable {
 
     boolean isTitle() { return isTitle; }
 
+    boolean isFinish() { return isFinish; }
+
+    boolean isModal() { return textBox != null || menu != null; }
+
+    /**
+     * Wakes the game loop, so input is handled without waiting for the next frame.
+     */
+    public void wake() { if (loop != null) { loop.wake(); } }
+
+    /**
+     * @return the length of a simulation tick in seconds
+     */
+    public double getTickSeconds() { return loop != null ? loop.getStepNanos() / 1e9 : 1 / Constants.TICK_RATE; }
+
     public boolean isDebug() { return isDebug; }
     public void setDebug() {
         menu = null;
@@ -250,22 +287,90 @@ public class Game implements Serializable {
     boolean hasStinkBomb() { return items[0][1] > 0; }
     public boolean hasQuestions() { return items[0][2] > 0; }
 
-    public void setBadTile(int j, int i) { badTileMatrix[j][i] = 1; }
-    boolean isBadTile(int j, int i) { return badTileMatrix[j][i] == 1; }
-    void setBadTileMatrix(int rows, int cols) { badTileMatrix = new int[rows][cols]; }
+    /**
+     * Marks a tile as seen by a hostile NPC.
+     * Marked tiles are remembered, so only they need clearing at the start of the next tick.
+     */
+    public void setBadTile(int j, int i) {
+        int index = badTileIndex(j, i);
+        if (badTileMatrix[index]) { return; }
+        badTileMatrix[index] = true;
+        if (badTileCount == badTileMarks.length) { badTileMarks = Arrays.copyOf(badTileMarks, badTileCount * 2); }
+        badTileMarks[badTileCount++] = index;
+    }
+    boolean isBadTile(int j, int i) { return badTileMatrix[badTileIndex(j, i)]; }
+    void setBadTileMatrix(int rows, int cols) {
+        badTileMatrix = new boolean[rows * cols];
+        badTileMarks = new int[16];
+        badTileCount = 0;
+    }
+
+    private int badTileIndex(int j, int i) {
+        MapGrid grid = map.getGrid();
+        if (!grid.contains(j, i)) { throw new ArrayIndexOutOfBoundsException("(" + i + ", " + j + ")"); }
+        return j * grid.getColumns() + i;
+    }
+
+    private void clearBadTiles() {
+        for (int i = 0; i < badTileCount; i++) { badTileMatrix[badTileMarks[i]] = false; }
+        badTileCount = 0;
+    }
+
+    boolean isTileNPC(int y, int x) { return getTileFromMatrix(y, x) == '*'; }
 
-    boolean isTileNPC(int y, int x) { return tileMatrix[y][x] == '*'; }
-    public char getTileFromMatrix(int y, int x) { return tileMatrix[y][x]; }
-    void setTileMatrix(int rows, int cols) { tileMatrix = new char[rows][cols]; }
+    /**
+     * @return the key of the GameObject on a tile, or the map's tile if it is empty
+     */
+    public char getTileFromMatrix(int y, int x) {
+        GameObject object = objectIndex.get(y, x);
+        return object != null ? object.getTile().getKey() : map.getGrid().get(y, x);
+    }
 
     public Player getPlayer() { return player; }
 
     public int getMapId() { return map.getCurrentId(); }
+    TileMapView getMapView() { return map; }
     public int getMapMaxX() { return map.getMaxX(); }
     public int getMapMaxY() { return map.getMaxY(); }
     public int getMiniMapId() { return map.getMiniMapId(); }
-    public boolean isCollideTile(Character key) { return map.getTiles().get(key).isCollision(); }
-    public boolean isDoorTile(Character key) { return map.getTiles().get(key)instanceof DoorTile; }
+    public boolean isCollideTile(char key) { return map.getTiles().isCollision(key); }
+    public boolean isDoorTile(char key) { return map.getTiles().isDoor(key); }
+    public boolean isDoorCell(int y, int x) { return map.getDoorMask().get(y, x); }
+
+    /**
+     * Checks whether or not a GameObject can move onto a cell, which must be inside the map.
+     *
+     * @param avoidDoors whether or not door tiles also block the move, as they do for NPCs
+     * @return whether or not the cell is empty and passable
+     */
+    public boolean isFreeCell(int y, int x, boolean avoidDoors) {
+        CellMask mask = avoidDoors ? map.getBlockedMask() : map.getCollisionMask();
+        return objectIndex.get(y, x) == null && !mask.get(y, x);
+    }
+
+    /**
+     * Finds the first collision tile in a segment of a row, which must be inside the map.
+     *
+     * @param from the column to start at
+     * @param to the column to finish at (inclusive), which may be before from
+     * @param stopAtDoors whether or not door tiles also count
+     * @return the column of the first collision tile, or -1 if there is none
+     */
+    public int firstBlockedInRow(int y, int from, int to, boolean stopAtDoors) {
+        return (stopAtDoors ? map.getBlockedMask() : map.getCollisionMask()).firstInRow(y, from, to);
+    }
+
+    /**
+     * Finds the first collision tile in a segment of a column, which must be inside the map.
+     *
+     * @param from the row to start at
+     * @param to the row to finish at (inclusive), which may be before from
+     * @param stopAtDoors whether or not door tiles also count
+     * @return the row of the first collision tile, or -1 if there is none
+     */
+    public int firstBlockedInColumn(int x, int from, int to, boolean stopAtDoors) {
+        return (stopAtDoors ? map.getBlockedMask() : map.getCollisionMask()).firstInColumn(x, from, to);
+    }
     public void loadMap(TileMap map) { this.map.loadMap(map);}
 
     public Camera getCamera() { return camera; }
@@ -298,25 +403,125 @@ public class Game implements Serializable {
         frame.pack();
         frame.setLocationRelativeTo(null);
         frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        frame.addWindowFocusListener(idlePolicy);
     }
 
     int getNumberOfObjects() { return objects.size(); }
     GameObject getObject(int index) { return objects.get(index); }
 
-    GameObject getObjectFromMatrix(int j, int i) { return objectMatrix[j][i]; }
-    public boolean isObjectNull(int j, int i) { return objectMatrix[j][i] == null; }
-    void setObjectMatrix(int rows, int cols) { objectMatrix = new GameObject[rows][cols]; }
+    GameObject getObjectFromMatrix(int j, int i) { return objectIndex.get(j, i); }
+    public boolean isObjectNull(int j, int i) { return objectIndex.get(j, i) == null; }
+    void setObjectMatrix(int rows, int cols) {
+        objectIndex = new SpatialIndex(rows, cols);
+        objectsStale = true;
+    }
+
+    SpatialIndex getObjectIndex() { return objectIndex; }
 
     /**
-     * Updates the logical state of all GameObjects and matrices, and the StatusMenu
+     * Checks whether or not a GameObject is within a distance of a tile.
+     *
+     * @param object the GameObject to look for
+     * @param x the x co-ordinate of the tile
+     * @param y the y co-ordinate of the tile
+     * @param radius the greatest distance in tiles
+     * @return whether or not the GameObject is within the distance
+     */
+    public boolean isObjectWithin(GameObject object, int x, int y, int radius) {
+        int count = objectIndex.queryRadius(x, y, radius);
+        for (int i = 0; i < count; i++) {
+            if (objects.get(objectIndex.getResult(i)) == object) { return true; }
+        }
+        return false;
+    }
+
+    /**
+     * @param direction the direction to look in (0 = up, 1 = down, 2 = left, 3 = right)
+     * @return the closest GameObject in a straight line from a tile within range, or null if there is none
+     */
+    public GameObject getNearestObject(int x, int y, int direction, int range) {
+        return objectIndex.nearestInDirection(x, y, direction, range);
+    }
+
+    /**
+     * Rebuilds the list of GameObjects from the current map's NPCs for the current time, and places them in the
+     * object index. Any queued reset of the map's NPCs is finished first, so they never come into play half reset.
+     */
+    private void rebuildObjects() {
+        TileMapLoader.tileMaps.get(map.getCurrentId()).finishReset();
+        for (int i = 0; i < objects.size(); i++) { objectIndex.remove(i, objects.get(i), occupiedX[i], occupiedY[i]); }
+        objects.clear();
+        try { objects.addAll(TileMapLoader.tileMaps.get(map.getCurrentId()).getNPCs(time)); }
+        catch (NullPointerException e) { /* Do nothing */}
+        objects.add(GAME.player);
+
+        if (occupiedX.length < objects.size()) {
+            occupiedX = new int[objects.size()];
+            occupiedY = new int[objects.size()];
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject object = objects.get(i);
+            occupiedX[i] = object.getX();
+            occupiedY[i] = object.getY();
+            objectIndex.add(i, object, object.getX(), object.getY());
+        }
+        objectsStale = false;
+        objectsMapId = map.getCurrentId();
+        objectsTime = time;
+        objectsPlayer = player;
+    }
+
+    private boolean isObjectsStale() {
+        return objectsStale || objectsMapId != map.getCurrentId() || objectsTime != time || objectsPlayer != player;
+    }
+
+    /**
+     * Moves a GameObject in the object index if it has changed tile since it was last placed.
+     *
+     * @param index the GameObject's index in the objects list
+     */
+    private void syncObject(int index) {
+        GameObject object = objects.get(index);
+        if (object.getX() == occupiedX[index] && object.getY() == occupiedY[index]) { return; }
+        objectIndex.remove(index, object, occupiedX[index], occupiedY[index]);
+        occupiedX[index] = object.getX();
+        occupiedY[index] = object.getY();
+        objectIndex.add(index, object, object.getX(), object.getY());
+    }
+
+    /**
+     * @return the map's own tile at a co-ordinate, which must be inside the map
+     */
+    MapGrid getGrid() { return map.getGrid(); }
+    TileTable getTiles() { return map.getTiles(); }
+
+    String getTransitionText() { return transitionText; }
+
+    TripleBuffer<RenderSnapshot> getSnapshots() { return snapshots; }
+
+    TaskScheduler getScheduler() { return scheduler; }
+
+    /**
+     * Queues work to be done at the end of this tick, once every GameObject has moved.
+     * The work is dropped if a different map has been loaded by then.
+     *
+     * @param job the work to do
      */
-    private void update() {
-        int rows = map.getMatrixRows();
-        int cols = map.getMatrixCols();
+    public void runAtEndOfTick(Runnable job) {
+        int mapId = getMapId();
+        scheduler.submit(() -> {
+            if (getMapId() == mapId) { job.run(); }
+            return true;
+        }, TaskScheduler.HIGH);
+    }
 
-        tileMatrix = new char[rows][cols];
-        badTileMatrix = new int[rows][cols];
-        objectMatrix = new GameObject[rows][cols];
+    /**
+     * Updates the logical state of all GameObjects and matrices, and the StatusMenu
+     */
+    void update() {
+        map.handlePresses();
+        updateTransitionText();
+        clearBadTiles();
 
         if (lesson != null) {
             switch (time) {
@@ -356,52 +561,105 @@ public class Game implements Serializable {
             StatusMenu.setUp(statusMenu.getCurrentId());
         }
 
-        for (int i = 0; i < rows; i++) {
-            List<Character> line = map.getMatrixLine(i);
-            for (int j = 0; j < cols; j++) {
-                tileMatrix[i][j] = line.get(j);
-            }
+        if (isObjectsStale()) { rebuildObjects(); }
+        else {
+            for (int i = 0; i < objects.size(); i++) { syncObject(i); }
         }
-        for (GameObject object : objects) {
-            tileMatrix[object.getY()][object.getX()] = object.getTile().getKey();
-            objectMatrix[object.getY()][object.getX()]  = object;
+        camera.snap();
+        for (GameObject object : objects) { object.snapPosition(); }
+        for (int i = 0; i < objects.size(); i++) {
+            objects.get(i).update();
+            if (!isObjectsStale()) { syncObject(i); }
         }
-        for (GameObject object : objects) {  object.update();  }
         camera.update();
-        if (isTransition && System.currentTimeMillis() - transitionTime > 1000 / 5) { isTransition = false; }
-
-        synchronized (Game.class) {
-            objects.clear();
-            try { objects.addAll(TileMapLoader.tileMaps.get(map.getCurrentId()).getNPCs(time)); }
-            catch (NullPointerException e) { /* Do nothing */}
-            objects.add(GAME.player);
+        if (isTransition && --transitionTicks <= 0) { isTransition = false; }
+        if (Constants.INSTANT_DOORS) {
+            TileMapLoader.tileMaps.get(map.getCurrentId()).prepareNeighbours(player.getX(), player.getY(),
+                    Constants.PREFETCH_DISTANCE);
         }
+        scheduler.run();
+
+        if (isObjectsStale()) { rebuildObjects(); }
+    }
+
+    /**
+     * Sets the text of the full-screen TextBox shown between various game states.
+     * The TextBox is only replaced when its text changes, so the player can dismiss it.
+     */
+    private void updateTransitionText() {
+        String text = null;
+        if (isNewGame) { text = FileReader.getMenuString(54); }
+        if (isNewDay) { text = newDayText; }
+        if (isAfterActivity) { text = activity.getAfterText(); }
+        if (isHeist) { text = FileReader.getMenuString(50); }
+        if (gotQuestions) { text = FileReader.getMenuString(52); }
+        if (hasLostHeist) { text = FileReader.getMenuString(55); }
+        if (hasWonHeist) { text = FileReader.getMenuString(56); }
+        if (text != null && (textBox == null || !text.equals(textBox.getText()))) { textBox = new TextBox(0, text); }
+        transitionText = text;
+    }
+
+    /**
+     * Creates the component that displays a screen.
+     * With active rendering the screen is drawn onto a BufferStrategy canvas, otherwise the Swing component is used.
+     *
+     * @param source the Swing component of the screen
+     * @param painter draws the screen
+     * @return the component to add to the frame
+     */
+    private static Component createView(JComponent source, Consumer<Graphics> painter) {
+        return Constants.ACTIVE_RENDERING ? new ActiveRenderView(source, painter) : source;
+    }
+
+    /**
+     * Presents a frame of the current view, either immediately or by requesting a Swing repaint.
+     * Swing repaints are limited to the parts of the view damaged since the last frame (see DamageTracker), so a
+     * still scene costs next to nothing to render.
+     */
+    private void present() {
+        if (view instanceof ActiveRenderView) { ((ActiveRenderView) view).render(); }
+        else if (damage != null) { damage.present(view); }
+        else { view.repaint(); }
+    }
+
+    /**
+     * Publishes the state at the end of a tick for the renderer.
+     */
+    private void publishSnapshot() {
+        RenderSnapshot snapshot = snapshots.getBack();
+        snapshot.capture(loop);
+        damage.capture(snapshot);
+        snapshots.publish();
     }
 
     /**
      * Updates the air vent tile in the ground floor school hall map.
      * This enables the player to trigger the heist if certain conditions are met.
+     * The tile is only replaced when the vent opens or closes, as a new tile means the map's masks and background
+     * have to be worked out again.
      */
     void updateAirVent() {
-        if (hasStinkBomb() && hasSuperKey() && gradeValues[4] > 29 && !hasQuestions()) {
-            TileMapLoader.tileMaps.get(0).putPoint(new Point(7, 5),
-                    new TextBox(0, FileReader.getInteractiveString(5) + FileReader.getInteractiveString(36)));
-            Tile oldTile = TileMapLoader.tileMaps.get(0).getTile('A');
-            Tile newTile = new InteractiveTile(oldTile.getImg(), true, 'A', true);
-            TileMapLoader.tileMaps.get(0).putTile('A', newTile);
+        boolean open = hasStinkBomb() && hasSuperKey() && gradeValues[4] > 29 && !hasQuestions();
+        TileMap hall = TileMapLoader.tileMaps.get(0);
+        if (open) {
+            hall.putPoint(7, 5, new TextBox(0, FileReader.getInteractiveString(5) +
+                    FileReader.getInteractiveString(36)));
         }
-        else {
-            TileMapLoader.tileMaps.get(0).putPoint(new Point(7, 5),
-                    new TextBox(0, FileReader.getInteractiveString(5)));
-            Tile oldTile = TileMapLoader.tileMaps.get(0).getTile('A');
-            Tile newTile = new InteractiveTile(oldTile.getImg(), true, 'A', false);
-            TileMapLoader.tileMaps.get(0).putTile('A', newTile);
+        else { hall.putPoint(7, 5, new TextBox(0, FileReader.getInteractiveString(5))); }
+        Tile oldTile = hall.getTile('A');
+        if (!(oldTile instanceof InteractiveTile) || ((InteractiveTile) oldTile).isMenu() != open) {
+            hall.putTile(new InteractiveTile(oldTile.getImg(), true, 'A', open));
         }
     }
 
+    /**
+     * Blacks out the screen for TRANSITION_SECONDS.
+     * The blackout is counted in ticks rather than wall time, so it lasts the same number of ticks however fast they
+     * run (e.g. in the HeadlessRuntime).
+     */
     public void doTransition() {
         isTransition = true;
-        transitionTime = System.currentTimeMillis();
+        transitionTicks = (int) Math.ceil(Constants.TRANSITION_SECONDS / getTickSeconds());
     }
 
     /**
@@ -472,13 +730,11 @@ public class Game implements Serializable {
         if (yes) {
             GameAudio.playSfx(GameAudio.sfx_click);
             doTransition();
-            objects.clear();
             time = 8;
             TileMap nextMap = TileMapLoader.tileMaps.get(7);
             map.loadMap(nextMap);
             GameAudio.playSfx(GameAudio.sfx_door);
             GameAudio.startMusic(GameAudio.music_bedroom);
-            objects.add(GAME.player);
             player.setLocation(6, 2);
             player.rotate(1);
             player.setCondition(0);
@@ -531,11 +787,9 @@ public class Game implements Serializable {
                 gotQuestions = false;
                 hasLostHeist = true;
                 isSuspended = true;
-                objects.clear();
                 time = timeBeforeHeist + 1;
                 TileMap nextMap = TileMapLoader.tileMaps.get(1);
                 map.loadMap(nextMap);
-                objects.add(GAME.player);
                 player.setSpotted(false);
                 player.setLocation(9, 2);
                 player.rotate(1);
@@ -547,11 +801,18 @@ public class Game implements Serializable {
      * Starts a new game instance.
      * Sets all game values to their default.
      */
-    public void newGame() {
+    public void newGame() { newGame(ctrl); }
+
+    /**
+     * Starts a new game instance with the player driven by the specified controller.
+     *
+     * @param controller the player's controller
+     */
+    void newGame(Controller controller) {
         GameAudio.stopMusic();
 
         assert Player.TILES != null;
-        player = new Player(Player.TILES.get(Constants.UP_TILE), Constants.START_X, Constants.START_Y, ctrl);
+        player = new Player(Player.TILES.get(Constants.UP_TILE), Constants.START_X, Constants.START_Y, controller);
 
         items = new int[3][];
         items[0] = new int[3];
@@ -577,7 +838,7 @@ public class Game implements Serializable {
         examsLeft = 5;
 
         isNewGame = true;
-        isTitle = false;
+        leaveTitle();
 
         isExams = false;
         isSuspended = false;
@@ -647,9 +908,28 @@ public class Game implements Serializable {
         emilyCrush = data.emilyCrush;
 
         isNewGame = false;
-        isTitle = false;
+        leaveTitle();
+    }
 
+    /**
+     * Starts a new game instance for stepping without a display.
+     * The introduction is skipped so the controller can act from the first tick.
+     *
+     * @param controller the player's controller
+     */
+    void newHeadlessGame(Controller controller) {
+        newGame(controller);
+        statusMenu = new StatusMenu(0);
+        isNewGame = false;
+        textBox = null;
+    }
+
+    /**
+     * Leaves the title screen and wakes the title loop so the game starts straight away.
+     */
+    private void leaveTitle() {
         isTitle = false;
+        if (loop != null) { loop.wake(); }
     }
 
     /**
@@ -698,6 +978,38 @@ public class Game implements Serializable {
                 "#" + FileReader.getResultString(5) + points);
     }
 
+    /**
+     * Caches the time period and condition strings once the text files have been read.
+     */
+    static void loadStrings() {
+        timePeriods = FileReader.getTimeStrings();
+        conditions = FileReader.getConditionStrings();
+    }
+
+    /**
+     * Loads the NPCs and then the tile maps that reference them.
+     * Called before every game, as both are modified during play.
+     *
+     * @throws Exception if a loader thread is interrupted or the barrier is broken
+     */
+    static void loadWorld() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Thread npcThread = new Thread(() -> NPCLoader.loadNPCs(barrier));
+
+        ExecutorService e = Executors.newFixedThreadPool(2);
+
+        e.submit(npcThread);
+        barrier.await();
+
+        barrier.reset();
+
+        Thread mapThread = new Thread(() -> TileMapLoader.loadMaps(barrier));
+
+        e.submit(mapThread);
+        barrier.await();
+        e.shutdown();
+    }
+
     public static void main(String[] args) throws Exception {
         GAME.splashScreen = new SplashScreen();
         GAME.createFrame();
@@ -721,57 +1033,52 @@ public class Game implements Serializable {
 
         GAME.titleScreen = new TitleScreen();
 
-        timePeriods = FileReader.getTimeStrings();
-        conditions = FileReader.getConditionStrings();
+        loadStrings();
 
         while (true) {
-            CyclicBarrier barrier2 = new CyclicBarrier(2);
-            Thread npcThread = new Thread(() -> NPCLoader.loadNPCs(barrier2));
-
-            ExecutorService e1 = Executors.newFixedThreadPool(2);
-
-            e1.submit(npcThread);
-            barrier2.await();
-
-            barrier2.reset();
-
-            Thread mapThread = new Thread(() -> TileMapLoader.loadMaps(barrier2));
-
-            e1.submit(mapThread);
-            barrier2.await();
+            loadWorld();
 
             GAME.frame.remove(GAME.splashScreen);
 
-            GAME.frame.getContentPane().add(GAME.titleScreen);
+            GAME.view = createView(GAME.titleScreen, GAME.titleScreen::paintComponent);
+            GAME.frame.getContentPane().add(GAME.view);
             GAME.frame.revalidate();
 
             GameAudio.startMusic(GameAudio.music_title);
 
-            while (GAME.isTitle) {
-                GAME.titleScreen.repaint();
-                if (!running) {
-                    System.exit(0);
-                    return;
-                }
+            GAME.loop = new GameLoop(Constants.TITLE_FRAME_RATE, Constants.TITLE_FRAME_RATE);
+            GAME.loop.run(() -> {}, GAME::present, () -> !GAME.isTitle || !running);
+            if (!running) {
+                System.exit(0);
+                return;
             }
-            GAME.frame.remove(GAME.titleScreen);
+            GAME.frame.remove(GAME.view);
 
             GAME.statusMenu = new StatusMenu(0);
-            GAME.frame.getContentPane().add(GAME.map);
+            GAME.map.addMouseListener(GAME.idlePolicy);
+            GAME.view = createView(GAME.map, GAME.map::paintComponent);
+            GAME.frame.getContentPane().add(GAME.view);
             GAME.frame.addKeyListener(GAME.ctrl);
+            GAME.frame.addKeyListener(GAME.idlePolicy);
             GAME.frame.revalidate();
 
-            while (!GAME.isFinish) {
+            GAME.loop = new GameLoop(Constants.TICK_RATE, Constants.FRAME_RATE);
+            GAME.loop.setIdlePolicy(GAME.idlePolicy);
+            GAME.damage = new DamageTracker();
+            GAME.snapshots = new TripleBuffer<>(RenderSnapshot::new);
+            GAME.loop.run(() -> {
                 GAME.update();
-                GAME.map.repaint();
-                Thread.sleep(70);
-            }
+                GAME.publishSnapshot();
+            }, GAME::present, () -> GAME.isFinish);
+            GAME.damage = null;
             GAME.isFinish = false;
             GAME.isTitle = true;
             GAME.titleScreen = new TitleScreen();
 
             GAME.frame.removeKeyListener(GAME.ctrl);
-            GAME.frame.remove(GAME.map);
+            GAME.frame.removeKeyListener(GAME.idlePolicy);
+            GAME.map.removeMouseListener(GAME.idlePolicy);
+            GAME.frame.remove(GAME.view);
             GAME.frame.getContentPane().add(GAME.splashScreen);
             GAME.frame.revalidate();
         }
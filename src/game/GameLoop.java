@@ -0,0 +1,101 @@
+package game;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs the game simulation at a fixed tick rate and renders as often as the frame rate allows.
+ * Rendering interpolates between the previous and the current tick so movement stays smooth when the frame rate is
+ * higher than the tick rate.
+ */
+class GameLoop {
+    private static final int MAX_STEPS = 5;
+    private static final long PAUSE_NANOS = 1_000_000_000L;
+
+    private final long stepNanos;
+    private final long idleStepNanos;
+    private final FramePacer pacer;
+    private IdlePolicy idlePolicy;
+    private long currentStepNanos;
+
+    /**
+     * Class constructor.
+     *
+     * @param tickRate the number of simulation ticks per second
+     * @param frameRate the target number of rendered frames per second
+     */
+    GameLoop(double tickRate, int frameRate) {
+        stepNanos = (long) (1_000_000_000L / tickRate);
+        idleStepNanos = Math.max(stepNanos, 1_000_000_000L / Math.max(Constants.IDLE_TICK_RATE, 1));
+        currentStepNanos = stepNanos;
+        pacer = new FramePacer(frameRate);
+    }
+
+    /**
+     * @return the length of the current simulation tick, which is longer while the loop is idling
+     */
+    long getStepNanos() { return currentStepNanos; }
+
+    void setIdlePolicy(IdlePolicy idlePolicy) { this.idlePolicy = idlePolicy; }
+
+    FramePacer getPacer() { return pacer; }
+
+    /**
+     * Cuts the current wait between frames short, e.g. when a state change should be handled straight away.
+     */
+    void wake() { pacer.wake(); }
+
+    /**
+     * Runs the loop until the game finishes.
+     * Elapsed time is accumulated and consumed in fixed steps. If the simulation falls too far behind (e.g. after a
+     * long map load) the backlog is dropped instead of being caught up, so one slow tick can't cause a spiral of
+     * ever longer catch-up frames. The FramePacer decides whether each frame is rendered.
+     * With an IdlePolicy the loop stops while paused, and while modal it ticks at the idle rate, renders only after
+     * a tick and ticks straight away when woken by input.
+     *
+     * @param tick advances the simulation by one fixed step
+     * @param render requests a frame to be rendered
+     * @param finished whether or not the loop should stop
+     * @throws InterruptedException if the game thread is interrupted while waiting
+     */
+    void run(Runnable tick, Runnable render, BooleanSupplier finished) throws InterruptedException {
+        long previous = System.nanoTime();
+        long accumulator = stepNanos;
+        boolean woken = false;
+        while (!finished.getAsBoolean()) {
+            IdlePolicy.Mode mode = idlePolicy != null ? idlePolicy.getMode() : IdlePolicy.Mode.ACTIVE;
+            if (mode == IdlePolicy.Mode.PAUSED) {
+                pacer.waitUntil(System.nanoTime() + PAUSE_NANOS);
+                previous = System.nanoTime();
+                continue;
+            }
+            boolean modal = mode == IdlePolicy.Mode.MODAL;
+            long step = modal ? idleStepNanos : stepNanos;
+            currentStepNanos = step;
+
+            long frameStart = System.nanoTime();
+            accumulator = Math.min(accumulator, step) + Math.min(frameStart - previous, step * MAX_STEPS);
+            if (modal && woken) { accumulator = Math.max(accumulator, step); }
+            previous = frameStart;
+
+            int steps = 0;
+            while (accumulator >= step && steps < MAX_STEPS) {
+                long tickStart = System.nanoTime();
+                tick.run();
+                pacer.recordUpdate(System.nanoTime() - tickStart);
+                accumulator -= step;
+                steps++;
+            }
+            boolean behind = accumulator >= step;
+            if (behind) { accumulator %= step; }
+
+            if ((!modal || steps > 0) && pacer.shouldRender(frameStart, behind)) {
+                long renderStart = System.nanoTime();
+                render.run();
+                pacer.recordRender(System.nanoTime() - renderStart);
+            }
+
+            long frame = modal ? step : pacer.getFrameNanos();
+            woken = pacer.waitUntil(frameStart + Math.min(step - accumulator, frame));
+        }
+    }
+}
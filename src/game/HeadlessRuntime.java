@@ -0,0 +1,151 @@
+package game;
+
+import controllers.RandomMovement;
+import objects.Player;
+import utilities.FileReader;
+import utilities.GameFont;
+import utilities.Menu;
+import utilities.TextBox;
+
+import java.awt.event.MouseEvent;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static game.Game.GAME;
+
+/**
+ * Steps the game simulation without a frame, audio device or renderer.
+ * The player is driven by a random movement bot and ticks run back to back, so this can be used for soak tests and
+ * throughput measurements on machines without a display (run with -Djava.awt.headless=true).
+ * A TextBox or Menu left open pauses the game, so the driver closes them the way a player would: a left click
+ * skips a TextBox, a choice is answered with its second option and a Menu is closed with right clicks. Anything
+ * still open after a few clicks is closed directly. The run fails if the player didn't get anywhere, so a stalled
+ * game can't pass as a fast one.
+ */
+public class HeadlessRuntime {
+    private static final long DEFAULT_TICKS = 100_000;
+
+    /* Ticks a TextBox or Menu is left open before the driver clicks, and clicks tried before it is closed directly */
+    private static final int MODAL_TICKS = 10;
+    private static final int MAX_CLICKS = 3;
+
+    /* Fewest distinct player positions a run must reach to count as progressing, and ticks allowed per position for
+     * short runs */
+    private static final int MIN_POSITIONS = 25;
+    private static final int TICKS_PER_POSITION = 1000;
+
+    private static final Set<Long> positions = new HashSet<>();
+    private static final Set<Integer> maps = new TreeSet<>();
+    private static int modalTicks;
+    private static Object lastModal;
+    private static int clicks;
+    private static long clicked;
+    private static long forced;
+
+    /**
+     * Loads every resource the simulation needs, skipping audio and the splash and title screens.
+     *
+     * @throws Exception if a loader thread is interrupted or the barrier is broken
+     */
+    static void loadResources() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(5);
+        Thread fileThread = new Thread(() -> FileReader.readFiles(barrier));
+        Thread textboxThread = new Thread(() -> TextBox.loadImages(barrier));
+        Thread menuThread = new Thread(() -> Menu.loadImages(barrier));
+        Thread fontThread = new Thread(() -> GameFont.loadFont(barrier));
+
+        ExecutorService e = Executors.newFixedThreadPool(4);
+
+        e.submit(fileThread);
+        e.submit(textboxThread);
+        e.submit(menuThread);
+        e.submit(fontThread);
+
+        barrier.await();
+        e.shutdown();
+
+        Game.loadStrings();
+        Game.loadWorld();
+    }
+
+    /**
+     * Runs a number of ticks as fast as possible and reports the throughput.
+     *
+     * @param ticks the maximum number of ticks to run
+     * @return the number of ticks run before the game finished
+     */
+    static long run(long ticks) {
+        long count = 0;
+        while (count < ticks && !GAME.isFinish()) {
+            GAME.update();
+            count++;
+            Player player = GAME.getPlayer();
+            positions.add(((long) GAME.getMapId() << 32) | ((long) player.getX() << 16) | player.getY());
+            maps.add(GAME.getMapId());
+            if (!GAME.isModal()) { modalTicks = 0; }
+            else if (++modalTicks >= MODAL_TICKS) {
+                closeModal();
+                modalTicks = 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Clicks the open TextBox or Menu, or closes it directly if clicking it hasn't worked.
+     */
+    private static void closeModal() {
+        TextBox textBox = GAME.getTextBox();
+        Menu menu = GAME.getMenu();
+        Object modal = textBox != null ? textBox : menu;
+        clicks = modal == lastModal ? clicks + 1 : 1;
+        lastModal = modal;
+        if (clicks > MAX_CLICKS) {
+            GAME.setMenu(null);
+            GAME.setTextBox(null);
+            forced++;
+            return;
+        }
+        if (textBox == null) { click(MouseEvent.BUTTON3, 0, 0); }
+        else if (menu != null) { click(MouseEvent.BUTTON1, Game.getWidth() - 60, 72); }
+        else { click(MouseEvent.BUTTON1, 0, 0); }
+        clicked++;
+    }
+
+    /**
+     * Presses a mouse button over the game, through the same queue as a real press, so it is handled at the start
+     * of the next tick.
+     */
+    private static void click(int button, int x, int y) {
+        TileMapView view = GAME.getMapView();
+        view.mousePressed(new MouseEvent(view, MouseEvent.MOUSE_PRESSED, 0, 0, x, y, 1, false, button));
+    }
+
+    /**
+     * @param args the number of ticks to run (optional)
+     * @throws Exception if loading the resources fails
+     */
+    public static void main(String[] args) throws Exception {
+        long ticks = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_TICKS;
+
+        loadResources();
+        GAME.newHeadlessGame(new RandomMovement(false));
+
+        long start = System.nanoTime();
+        long count = run(ticks);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d ticks in %.2f s (%.0f ticks/s)%n", count, seconds, count / seconds);
+        System.out.printf("%d positions on maps %s, %d TextBoxes and Menus clicked, %d closed directly%n",
+                positions.size(), maps, clicked, forced);
+        if (positions.size() < Math.min(MIN_POSITIONS, count / TICKS_PER_POSITION)) {
+            System.out.println("The player stalled.");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+}
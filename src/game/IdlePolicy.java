@@ -0,0 +1,37 @@
+package game;
+
+import java.awt.event.*;
+
+import static game.Game.GAME;
+
+/**
+ * Decides how hard the game loop runs.
+ * The game pauses while the window is out of focus. While a TextBox or Menu is open the player and NPCs can't act,
+ * so the loop ticks slowly and only the UI is repainted. Input wakes the loop so it responds straight away.
+ */
+class IdlePolicy extends MouseAdapter implements KeyListener, WindowFocusListener {
+    enum Mode { ACTIVE, MODAL, PAUSED }
+
+    private volatile boolean focused = true;
+
+    Mode getMode() {
+        if (!focused) { return Mode.PAUSED; }
+        if (GAME.isModal()) { return Mode.MODAL; }
+        return Mode.ACTIVE;
+    }
+
+    public void windowGainedFocus(WindowEvent e) {
+        focused = true;
+        GAME.wake();
+    }
+
+    public void windowLostFocus(WindowEvent e) { focused = false; }
+
+    public void keyPressed(KeyEvent e) { GAME.wake(); }
+
+    public void keyReleased(KeyEvent e) { GAME.wake(); }
+
+    public void keyTyped(KeyEvent e) {}
+
+    public void mousePressed(MouseEvent e) { GAME.wake(); }
+}
@@ -0,0 +1,154 @@
+package game;
+
+import objects.Tile;
+import objects.TileTable;
+import utilities.ImageLoader;
+import utilities.TextureAtlas;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stores a map's tiles pre-rendered at the tilesets' own size, one MapGrid chunk per image.
+ * Map tiles never move, so each chunk is drawn into an off-screen image the first time the camera reaches it, and
+ * the SceneRenderer copies the parts it needs into its frame with unscaled blits. Only the most recently used
+ * BACKGROUND_CHUNKS chunks are kept, so the memory used doesn't grow with the size of the map. Everything outside
+ * the map is the map's '#' tile, which shares one image.
+ * A new background is only needed when the grid or the TileTable's version changes, e.g. after an air vent update.
+ * Backgrounds are shared through get, so chunks pre-rendered on the game thread for the map behind a door are the
+ * ones the SceneRenderer draws after walking through it. The most recently used BACKGROUND_MAPS are kept.
+ */
+class MapBackground {
+    private static final int TILE = Constants.TILE_WIDTH;
+    private static final int CHUNK_PIXELS = MapGrid.CHUNK_SIZE * TILE;
+
+    private static final Map<MapGrid, MapBackground> backgrounds =
+            new LinkedHashMap<MapGrid, MapBackground>(4, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<MapGrid, MapBackground> eldest) {
+                    return size() > Constants.BACKGROUND_MAPS;
+                }
+            };
+
+    private final MapGrid grid;
+    private final TileTable tiles;
+    private final int version;
+    private final int chunkRows;
+    private final int chunkColumns;
+    private final Map<Integer, BufferedImage> chunks;
+    private BufferedImage outside;
+    private BufferedImage spare;
+
+    /**
+     * Class constructor.
+     * The TileTable is copied, so the background can be rendered on any thread.
+     *
+     * @param grid the map's tile keys
+     * @param tiles the map's tiles
+     */
+    private MapBackground(MapGrid grid, TileTable tiles) {
+        this.grid = grid;
+        this.tiles = new TileTable(tiles);
+        version = tiles.getVersion();
+        chunkRows = (grid.getRows() + MapGrid.CHUNK_SIZE - 1) / MapGrid.CHUNK_SIZE;
+        chunkColumns = (grid.getColumns() + MapGrid.CHUNK_SIZE - 1) / MapGrid.CHUNK_SIZE;
+        chunks = new LinkedHashMap<Integer, BufferedImage>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+                if (size() <= Constants.BACKGROUND_CHUNKS) { return false; }
+                spare = eldest.getValue();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Gets the background of a map, creating it if none is kept or the one kept is out of date.
+     *
+     * @param grid the map's tile keys
+     * @param tiles the map's tiles
+     * @return the background
+     */
+    static synchronized MapBackground get(MapGrid grid, TileTable tiles) {
+        MapBackground background = backgrounds.get(grid);
+        if (background == null || !background.isFor(grid, tiles)) {
+            background = new MapBackground(grid, tiles);
+            backgrounds.put(grid, background);
+        }
+        return background;
+    }
+
+    boolean isFor(MapGrid grid, TileTable tiles) { return this.grid == grid && version == tiles.getVersion(); }
+
+    /**
+     * Renders a chunk ahead of time, unless it is already kept.
+     *
+     * @param cy the row of the chunk, which may be outside the map
+     * @param cx the column of the chunk, which may be outside the map
+     */
+    synchronized void prerender(int cy, int cx) { getChunk(cy, cx); }
+
+    /**
+     * Copies the part of the background under an area of the frame.
+     *
+     * @param g the frame's graphics
+     * @param cameraX the x co-ordinate of the camera in tileset pixels
+     * @param cameraY the y co-ordinate of the camera in tileset pixels
+     * @param x the left of the area of the frame
+     * @param y the top of the area of the frame
+     * @param width the width of the area
+     * @param height the height of the area
+     */
+    synchronized void paint(Graphics g, int cameraX, int cameraY, int x, int y, int width, int height) {
+        int left = cameraX + x;
+        int top = cameraY + y;
+        for (int cy = Math.floorDiv(top, CHUNK_PIXELS); cy <= Math.floorDiv(top + height - 1, CHUNK_PIXELS); cy++) {
+            for (int cx = Math.floorDiv(left, CHUNK_PIXELS); cx <= Math.floorDiv(left + width - 1, CHUNK_PIXELS);
+                 cx++) {
+                BufferedImage image = getChunk(cy, cx);
+                int sx1 = Math.max(left - cx * CHUNK_PIXELS, 0);
+                int sy1 = Math.max(top - cy * CHUNK_PIXELS, 0);
+                int sx2 = Math.min(left + width - cx * CHUNK_PIXELS, CHUNK_PIXELS);
+                int sy2 = Math.min(top + height - cy * CHUNK_PIXELS, CHUNK_PIXELS);
+                int dx = cx * CHUNK_PIXELS + sx1 - cameraX;
+                int dy = cy * CHUNK_PIXELS + sy1 - cameraY;
+                ImageLoader.check(image, "map background");
+                g.drawImage(image, dx, dy, dx + sx2 - sx1, dy + sy2 - sy1, sx1, sy1, sx2, sy2, null);
+            }
+        }
+    }
+
+    /**
+     * Gets a chunk's image, rendering it if it isn't kept.
+     *
+     * @param cy the row of the chunk, which may be outside the map
+     * @param cx the column of the chunk, which may be outside the map
+     * @return the image
+     */
+    private BufferedImage getChunk(int cy, int cx) {
+        boolean inside = cy >= 0 && cx >= 0 && cy < chunkRows && cx < chunkColumns;
+        if (!inside && outside != null) { return outside; }
+        Integer key = cy * chunkColumns + cx;
+        BufferedImage image = inside ? chunks.get(key) : null;
+        if (image != null) { return image; }
+        image = spare != null ? spare : ImageLoader.createImage(CHUNK_PIXELS, CHUNK_PIXELS, Transparency.OPAQUE);
+        spare = null;
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, CHUNK_PIXELS, CHUNK_PIXELS);
+        int top = cy * MapGrid.CHUNK_SIZE;
+        int left = cx * MapGrid.CHUNK_SIZE;
+        for (int j = 0; j < MapGrid.CHUNK_SIZE; j++) {
+            for (int i = 0; i < MapGrid.CHUNK_SIZE; i++) {
+                Tile tile = tiles.get(inside ? grid.getUnchecked(top + j, left + i) : '#');
+                if (tile != null) { TextureAtlas.draw(g, tile.getSprite(), i * TILE, j * TILE); }
+            }
+        }
+        g.dispose();
+        if (inside) { chunks.put(key, image); }
+        else { outside = image; }
+        return image;
+    }
+}
@@ -0,0 +1,31 @@
+package game;
+
+import utilities.TileMapLoader;
+
+import java.io.IOException;
+
+/**
+ * Compiles every map's text file into a MapFile, written next to it in resources/maps.
+ * The game's resources are loaded headlessly first, as the maps are defined in TileMapLoader.
+ * The game itself builds any missing or out of date compiled map the first time it loads the map, so running this
+ * is only needed to ship the .map files ready-built, e.g. with a read-only copy of the resources. Run the game with
+ * -Dgame.compileMaps=false to neither build nor rebuild them; maps without a current compiled map are then read from
+ * their text files.
+ */
+public class MapCompiler {
+
+    public static void main(String[] args) throws Exception {
+        HeadlessRuntime.loadResources();
+        for (TileMap map : TileMapLoader.tileMaps) {
+            try {
+                map.compile();
+                System.out.println("compiled map " + map.getId());
+            } catch (IOException e) {
+                System.out.println("Cannot compile map " + map.getId() + ".");
+                e.printStackTrace();
+                System.exit(1);
+            }
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,241 @@
+package game;
+
+import objects.DoorTarget;
+import objects.InteractivePoint;
+import objects.NPCSpawn;
+import utilities.IntKeyMap;
+
+import java.awt.*;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Reads and writes compiled maps.
+ * A compiled map holds a map's layout, door points, interactive points and NPC spawns in one little-endian binary
+ * file:
+ * <pre>
+ * int   magic ("CEMP")
+ * short version
+ * short tileset id
+ * int   rows
+ * int   columns
+ * long  source hash (see sourceHash)
+ *       padding up to CELLS_OFFSET
+ * char  tile keys, chunk by chunk, as stored in MapGrid
+ * int   door count, then per door: short x, short y, short map id, short arrival x, short arrival y
+ * int   point count, then per point: short x, short y, short TextBox id, short interactive string index
+ * int   spawn count, then per spawn: short time, short x, short y, short NPC id, short sub id (-1 if unique),
+ *       short direction, byte hostile, byte controller (see NPCSpawn), short patrol point count,
+ *       then per patrol point: short x, short y
+ * </pre>
+ * The file is memory-mapped and the MapGrid views the tile keys in place, so the layout is never parsed or copied.
+ * The tile keys start on a chunk boundary, so each chunk fills exactly half of a 4KB page and the chunks that are
+ * never looked at are never read from disk.
+ * The source hash covers everything the file is written from, including the door points, interactive points and NPC
+ * spawns defined in code, so a compiled map is only used while none of them have changed.
+ */
+class MapFile {
+    private static final int MAGIC = 0x504D4543;
+    private static final short VERSION = 4;
+    private static final int HEADER_BYTES = 24;
+    private static final int CELLS_OFFSET = MapGrid.CHUNK_CELLS * 2;
+
+    private final int tileSetId;
+    private final MapGrid grid;
+    private final IntKeyMap<DoorTarget> doorPoints = new IntKeyMap<>();
+    private final IntKeyMap<InteractivePoint> interactivePoints = new IntKeyMap<>();
+    private final TreeMap<Integer, List<NPCSpawn>> spawns = new TreeMap<>();
+
+    /**
+     * Class constructor.
+     *
+     * @param buffer the contents of the compiled map
+     * @throws IOException if the contents aren't a compiled map of the current version
+     */
+    private MapFile(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a compiled map.");
+        }
+        int version = buffer.getShort();
+        if (version != VERSION) { throw new IOException("Unsupported compiled map version " + version + "."); }
+        tileSetId = buffer.getShort();
+        int rows = buffer.getInt();
+        int columns = buffer.getInt();
+        buffer.getLong();
+
+        int cellBytes = MapGrid.cellCount(rows, columns) * 2;
+        buffer.position(CELLS_OFFSET);
+        ByteBuffer cells = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        cells.limit(cellBytes);
+        grid = new MapGrid(rows, columns, cells.asCharBuffer());
+        buffer.position(CELLS_OFFSET + cellBytes);
+
+        int doors = buffer.getInt();
+        for (int i = 0; i < doors; i++) {
+            int key = IntKeyMap.key(buffer.getShort(), buffer.getShort());
+            doorPoints.put(key, new DoorTarget(buffer.getShort(), buffer.getShort(), buffer.getShort()));
+        }
+        int points = buffer.getInt();
+        for (int i = 0; i < points; i++) {
+            int key = IntKeyMap.key(buffer.getShort(), buffer.getShort());
+            interactivePoints.put(key, new InteractivePoint(buffer.getShort(), buffer.getShort()));
+        }
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            int time = buffer.getShort();
+            int x = buffer.getShort();
+            int y = buffer.getShort();
+            int id = buffer.getShort();
+            int subId = buffer.getShort();
+            int direction = buffer.getShort();
+            boolean hostile = buffer.get() != 0;
+            int controller = buffer.get();
+            Point[] patrol = new Point[buffer.getShort()];
+            for (int j = 0; j < patrol.length; j++) { patrol[j] = new Point(buffer.getShort(), buffer.getShort()); }
+            spawns.computeIfAbsent(time, k -> new ArrayList<>())
+                    .add(new NPCSpawn(x, y, id, subId, direction, hostile, controller, patrol));
+        }
+    }
+
+    /**
+     * Works out the hash of everything a compiled map is written from: the tileset id, the size and modification
+     * time of the map's text file, its door and interactive points, and its NPC spawns.
+     * The points are combined in any order, as an IntKeyMap's iteration order depends on how it was filled. The
+     * spawns are combined in order, as it is the order the NPCs are updated and drawn in.
+     *
+     * @param txtFile the map's text file
+     * @param tileSetId the identifier of the tileset the map uses
+     * @param doorPoints the map's door points
+     * @param interactivePoints the map's interactive points
+     * @param spawns the map's NPC spawns for each time period
+     * @return the hash
+     */
+    static long sourceHash(File txtFile, int tileSetId, IntKeyMap<DoorTarget> doorPoints,
+                           IntKeyMap<InteractivePoint> interactivePoints, TreeMap<Integer, List<NPCSpawn>> spawns) {
+        long[] hash = { mix(mix(mix(VERSION) ^ tileSetId) ^ txtFile.length()) ^ txtFile.lastModified() };
+        doorPoints.forEach((key, door) -> hash[0] += mix(mix(mix(mix(key) ^ 1) ^ door.getMapId()) ^
+                ((long) door.getX() << 32 | door.getY())));
+        interactivePoints.forEach((key, point) -> hash[0] += mix(mix(mix(key) ^ 2) ^
+                ((long) point.getTextBoxId() << 32 | point.getStringIndex())));
+        long spawnHash = 3;
+        for (Integer time : spawns.keySet()) {
+            for (NPCSpawn spawn : spawns.get(time)) {
+                spawnHash = mix(mix(mix(mix(spawnHash ^ time) ^ ((long) spawn.getX() << 32 | spawn.getY())) ^
+                        ((long) spawn.getId() << 32 | spawn.getSubId() & 0xFFFFFFFFL)) ^
+                        ((long) spawn.getDirection() << 32 | spawn.getController() << 1 | (spawn.isHostile() ? 1 : 0)));
+                for (Point point : spawn.getPatrol()) { spawnHash = mix(spawnHash ^ ((long) point.x << 32 | point.y)); }
+            }
+        }
+        return mix(mix(hash[0] ^ doorPoints.size() ^ (long) interactivePoints.size() << 32) ^ spawnHash);
+    }
+
+    /**
+     * @return the value scrambled with the finaliser of SplitMix64
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Memory-maps a compiled map, if it exists and was compiled from the current sources.
+     * Anything else falls back to the text file, so maps can still be edited without recompiling them.
+     *
+     * @param mapFile the compiled map
+     * @param sourceHash the hash of the map's current sources (see sourceHash)
+     * @return the compiled map, or null if it is missing, out of date or unreadable
+     */
+    static MapFile openIfCurrent(File mapFile, long sourceHash) {
+        if (!mapFile.isFile()) { return null; }
+        try (FileChannel channel = FileChannel.open(mapFile.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.limit() < HEADER_BYTES || buffer.getShort(4) != VERSION || buffer.getLong(16) != sourceHash) {
+                return null;
+            }
+            return new MapFile(buffer);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Cannot read compiled map " + mapFile + ".");
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Compiles a map.
+     *
+     * @param out the file to write the compiled map to
+     * @param tileSetId the identifier of the tileset the map uses
+     * @param sourceHash the hash of the map's sources (see sourceHash)
+     * @param grid the map's layout
+     * @param doorPoints the map's door points
+     * @param interactivePoints the map's interactive points
+     * @param spawns the map's NPC spawns for each time period
+     * @throws IOException if the file cannot be written
+     */
+    static void write(File out, int tileSetId, long sourceHash, MapGrid grid, IntKeyMap<DoorTarget> doorPoints,
+                      IntKeyMap<InteractivePoint> interactivePoints, TreeMap<Integer, List<NPCSpawn>> spawns)
+            throws IOException {
+        CharBuffer cells = grid.getCells();
+        int spawnCount = 0;
+        int spawnBytes = 0;
+        for (List<NPCSpawn> list : spawns.values()) {
+            for (NPCSpawn spawn : list) {
+                spawnCount++;
+                spawnBytes += 16 + spawn.getPatrol().length * 4;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(CELLS_OFFSET + cells.remaining() * 2 + 4 + doorPoints.size() * 10 +
+                4 + interactivePoints.size() * 8 + 4 + spawnBytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) tileSetId);
+        buffer.putInt(grid.getRows()).putInt(grid.getColumns()).putLong(sourceHash);
+        buffer.position(CELLS_OFFSET);
+        while (cells.hasRemaining()) { buffer.putChar(cells.get()); }
+        buffer.putInt(doorPoints.size());
+        doorPoints.forEach((key, door) -> buffer.putShort((short) IntKeyMap.keyX(key))
+                .putShort((short) IntKeyMap.keyY(key)).putShort((short) door.getMapId())
+                .putShort((short) door.getX()).putShort((short) door.getY()));
+        buffer.putInt(interactivePoints.size());
+        interactivePoints.forEach((key, point) -> buffer.putShort((short) IntKeyMap.keyX(key))
+                .putShort((short) IntKeyMap.keyY(key)).putShort((short) point.getTextBoxId())
+                .putShort((short) point.getStringIndex()));
+        buffer.putInt(spawnCount);
+        for (Integer time : spawns.keySet()) {
+            for (NPCSpawn spawn : spawns.get(time)) {
+                buffer.putShort(time.shortValue()).putShort((short) spawn.getX()).putShort((short) spawn.getY())
+                        .putShort((short) spawn.getId()).putShort((short) spawn.getSubId())
+                        .putShort((short) spawn.getDirection()).put((byte) (spawn.isHostile() ? 1 : 0))
+                        .put((byte) spawn.getController());
+                Point[] patrol = spawn.getPatrol();
+                buffer.putShort((short) patrol.length);
+                for (Point point : patrol) { buffer.putShort((short) point.x).putShort((short) point.y); }
+            }
+        }
+        buffer.flip();
+        try (FileChannel channel = new FileOutputStream(out).getChannel()) {
+            while (buffer.hasRemaining()) { channel.write(buffer); }
+        }
+    }
+
+    int getTileSetId() { return tileSetId; }
+
+    MapGrid getGrid() { return grid; }
+
+    IntKeyMap<DoorTarget> getDoorPoints() { return doorPoints; }
+
+    IntKeyMap<InteractivePoint> getInteractivePoints() { return interactivePoints; }
+
+    TreeMap<Integer, List<NPCSpawn>> getSpawns() { return spawns; }
+}
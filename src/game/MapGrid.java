@@ -0,0 +1,229 @@
+package game;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stores a map's tile keys in square chunks of CHUNK_SIZE by CHUNK_SIZE tiles.
+ * Chunks are stored one after another, row of chunks by row of chunks, and each chunk's keys are stored row by
+ * row, so the tiles around a point of the map are close together however wide the map is. The grid is padded
+ * with '#' up to a whole number of chunks.
+ * The chars are either read from a map's text file or viewed directly in a compiled MapFile. A compiled map is
+ * memory-mapped, so only the chunks that are actually looked at (those around the Camera and the NPCs) are paged
+ * in, and the operating system pages them out again when memory is short. A text file is only scanned for where
+ * its lines start when it is read; each chunk is read from the file the first time it is looked at, and only the
+ * most recently used RESIDENT_CHUNKS chunks are kept on the heap, the rest being read again if they are needed.
+ * The CellMasks and MapBackground built from a grid are also worked out a chunk at a time, as the chunks are looked
+ * at.
+ * A grid can't be changed once it is read, so each TileMap reads its grid once and shares it between loads.
+ * The checked accessor throws an ArrayIndexOutOfBoundsException for co-ordinates outside the map, as the nested
+ * arrays it replaces did. The unchecked accessor is for loops that have already clamped their co-ordinates.
+ */
+public class MapGrid {
+    static final int CHUNK_SHIFT = 5;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    static final int CHUNK_CELLS = CHUNK_SIZE * CHUNK_SIZE;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final int rows;
+    private final int columns;
+    private final int chunkColumns;
+    private final CharBuffer cells;
+    private final TextChunks text;
+
+    /**
+     * Class constructor.
+     *
+     * @param rows the height of the grid
+     * @param columns the width of the grid
+     * @param cells the grid's tile keys, chunk by chunk, which must not be changed afterwards
+     */
+    MapGrid(int rows, int columns, CharBuffer cells) {
+        this.rows = rows;
+        this.columns = columns;
+        chunkColumns = chunks(columns);
+        this.cells = cells;
+        text = null;
+    }
+
+    private MapGrid(int rows, int columns, File txtFile, long[] lineStarts) {
+        this.rows = rows;
+        this.columns = columns;
+        chunkColumns = chunks(columns);
+        cells = null;
+        text = new TextChunks(txtFile, lineStarts);
+    }
+
+    /**
+     * @return the number of chars needed to store a grid of the supplied size
+     */
+    static int cellCount(int rows, int columns) { return chunks(rows) * chunks(columns) * CHUNK_CELLS; }
+
+    private static int chunks(int tiles) { return (tiles + CHUNK_MASK) >> CHUNK_SHIFT; }
+
+    /**
+     * Reads where each line of a map's text file starts, one row per line.
+     * Short lines are padded with '#', so the grid is always rectangular. The tile keys themselves are read a chunk
+     * at a time as they are looked at.
+     *
+     * @param txtFile the map's text file
+     * @return the grid of the file's characters
+     * @throws IOException if the file cannot be read or found
+     */
+    static MapGrid read(File txtFile) throws IOException {
+        long[] lineStarts = new long[64];
+        int rows = 0;
+        int columns = 0;
+        long position = 0;
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(txtFile))) {
+            int b;
+            do {
+                b = in.read();
+                if (b >= 0) { position++; }
+                if (b >= 0 && b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                if (b < 0 && line.size() == 0) { break; }
+                if (rows + 1 >= lineStarts.length) { lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2); }
+                lineStarts[++rows] = position;
+                columns = Math.max(columns, decode(line.toByteArray(), 0, line.size()).length());
+                line.reset();
+            } while (b >= 0);
+        }
+        return new MapGrid(rows, columns, txtFile, Arrays.copyOf(lineStarts, rows + 1));
+    }
+
+    /**
+     * @return a line of the text file as the platform's default charset reads it, without any '\r' ending
+     */
+    private static String decode(byte[] bytes, int start, int length) {
+        if (length > 0 && bytes[start + length - 1] == '\r') { length--; }
+        return new String(bytes, start, length, Charset.defaultCharset());
+    }
+
+    public int getRows() { return rows; }
+
+    public int getColumns() { return columns; }
+
+    /**
+     * @return a read-only view of the grid's tile keys, chunk by chunk
+     */
+    CharBuffer getCells() {
+        if (cells != null) { return cells.asReadOnlyBuffer(); }
+        char[] all = new char[cellCount(rows, columns)];
+        for (int chunk = 0; chunk < all.length / CHUNK_CELLS; chunk++) {
+            System.arraycopy(text.read(chunk), 0, all, chunk * CHUNK_CELLS, CHUNK_CELLS);
+        }
+        return CharBuffer.wrap(all).asReadOnlyBuffer();
+    }
+
+    public boolean contains(int y, int x) { return x >= 0 && y >= 0 && x < columns && y < rows; }
+
+    public char get(int y, int x) {
+        if (!contains(y, x)) { throw new ArrayIndexOutOfBoundsException("(" + x + ", " + y + ")"); }
+        return getUnchecked(y, x);
+    }
+
+    public char getUnchecked(int y, int x) {
+        int index = index(y, x);
+        return cells != null ? cells.get(index) : text.get(index >> (2 * CHUNK_SHIFT), index & (CHUNK_CELLS - 1));
+    }
+
+    private int index(int y, int x) {
+        int chunk = (y >> CHUNK_SHIFT) * chunkColumns + (x >> CHUNK_SHIFT);
+        return (chunk << (2 * CHUNK_SHIFT)) | ((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK);
+    }
+
+    /**
+     * Reads the chunks of a text file's grid as they are looked at, keeping the most recently used RESIDENT_CHUNKS.
+     * Chunks are looked at from the game and render threads, so access is synchronized.
+     */
+    private class TextChunks {
+        private final File txtFile;
+        private final long[] lineStarts;
+        private final Map<Integer, char[]> chunks;
+        private int lastChunk = -1;
+        private char[] lastCells;
+
+        /**
+         * Class constructor.
+         *
+         * @param txtFile the map's text file
+         * @param lineStarts the position in the file of the start of each line, then the end of the last line
+         */
+        TextChunks(File txtFile, long[] lineStarts) {
+            this.txtFile = txtFile;
+            this.lineStarts = lineStarts;
+            chunks = new LinkedHashMap<Integer, char[]>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, char[]> eldest) {
+                    return size() > Constants.RESIDENT_CHUNKS;
+                }
+            };
+        }
+
+        /**
+         * @param chunk the index of the chunk
+         * @param offset the index of the cell in the chunk
+         * @return the tile key in the cell
+         */
+        synchronized char get(int chunk, int offset) {
+            if (chunk != lastChunk) {
+                char[] chunkCells = chunks.get(chunk);
+                if (chunkCells == null) {
+                    chunkCells = read(chunk);
+                    chunks.put(chunk, chunkCells);
+                }
+                lastChunk = chunk;
+                lastCells = chunkCells;
+            }
+            return lastCells[offset];
+        }
+
+        /**
+         * Reads a chunk's tile keys from the text file.
+         * A chunk that can't be read is left as '#', so the game carries on as if it were outside the map.
+         *
+         * @param chunk the index of the chunk
+         * @return the chunk's tile keys, row by row
+         */
+        char[] read(int chunk) {
+            char[] chunkCells = new char[CHUNK_CELLS];
+            Arrays.fill(chunkCells, '#');
+            int top = (chunk / chunkColumns) << CHUNK_SHIFT;
+            int left = (chunk % chunkColumns) << CHUNK_SHIFT;
+            int bottom = Math.min(top + CHUNK_SIZE, rows);
+            if (top >= bottom) { return chunkCells; }
+            try (RandomAccessFile file = new RandomAccessFile(txtFile, "r")) {
+                byte[] bytes = new byte[(int) (lineStarts[bottom] - lineStarts[top])];
+                file.seek(lineStarts[top]);
+                file.readFully(bytes);
+                for (int j = top; j < bottom; j++) {
+                    int start = (int) (lineStarts[j] - lineStarts[top]);
+                    int end = (int) (lineStarts[j + 1] - lineStarts[top]);
+                    if (end > start && bytes[end - 1] == '\n') { end--; }
+                    String line = decode(bytes, start, end - start);
+                    for (int i = left; i < Math.min(left + CHUNK_SIZE, line.length()); i++) {
+                        chunkCells[((j - top) << CHUNK_SHIFT) + i - left] = line.charAt(i);
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Cannot read chunk " + chunk + " of " + txtFile + ".");
+                e.printStackTrace();
+            }
+            return chunkCells;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package game;
+
+import objects.GameObject;
+import objects.TileTable;
+import utilities.Menu;
+import utilities.StatusMenu;
+import utilities.TextBox;
+import utilities.TextureAtlas;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import static game.Game.GAME;
+
+/**
+ * Stores a copy of everything needed to render one frame.
+ * Filled in by the simulation thread at the end of each tick and handed to the renderer through a TripleBuffer,
+ * so painting never reads the live game state. Slots are reused, so the arrays only grow.
+ */
+class RenderSnapshot {
+    boolean ready;
+    long tickTime;
+    long stepNanos;
+
+    int cameraPrevGX;
+    int cameraPrevGY;
+    int cameraGX;
+    int cameraGY;
+
+    int originX;
+    int originY;
+    int columns;
+    int rows;
+    boolean[] bad = new boolean[0];
+    MapGrid grid;
+    TileTable tiles;
+
+    int spriteCount;
+    int[] sprites = new int[0];
+    int[] emotions = new int[0];
+    int[] spritePrevGX = new int[0];
+    int[] spritePrevGY = new int[0];
+    int[] spriteGX = new int[0];
+    int[] spriteGY = new int[0];
+
+    int textBoxId;
+    BufferedImage textBoxImg;
+    String textBoxText;
+    BufferedImage textBoxNpcImg;
+    String textBoxNpcName;
+    int menuId;
+    BufferedImage menuImg;
+    String menuText;
+    BufferedImage menuMapImg;
+    BufferedImage menuIconImg;
+    Point menuIconPoint = new Point();
+    BufferedImage menuSubImg;
+    String menuSubText;
+    BufferedImage statusImg;
+    String statusText;
+    String statusSubText;
+    Color[] statusColours = new Color[4];
+
+    boolean transitionScreen;
+    boolean blackout;
+    boolean result;
+
+    boolean debug;
+    double fps;
+    long skipped;
+    double updateMillis;
+    double renderMillis;
+
+    /**
+     * Copies the current game state into the snapshot.
+     *
+     * @param loop the loop running the simulation
+     */
+    void capture(GameLoop loop) {
+        stepNanos = loop.getStepNanos();
+        tickTime = System.nanoTime();
+
+        FramePacer pacer = loop.getPacer();
+        debug = GAME.isDebug();
+        fps = pacer.getFps();
+        skipped = pacer.getSkipped();
+        updateMillis = pacer.getUpdateMillis();
+        renderMillis = pacer.getRenderMillis();
+
+        transitionScreen = GAME.getTransitionText() != null;
+        blackout = GAME.isTransition();
+        result = GAME.isResult();
+        captureTextBox();
+        captureMenu();
+        captureStatus();
+
+        Camera camera = GAME.getCamera();
+        cameraPrevGX = camera.getPrevGX();
+        cameraPrevGY = camera.getPrevGY();
+        cameraGX = camera.getGX();
+        cameraGY = camera.getGY();
+        captureTiles();
+        captureSprites();
+        ready = true;
+    }
+
+    /**
+     * Copies the raycast marks around both the previous and the current camera position.
+     * The map's tiles are drawn from its MapBackground, so only the grid and TileTable they are rendered from are kept.
+     */
+    private void captureTiles() {
+        grid = GAME.getGrid();
+        tiles = GAME.getTiles();
+        originX = Math.floorDiv(Math.min(cameraPrevGX, cameraGX), 32) - 1;
+        originY = Math.floorDiv(Math.min(cameraPrevGY, cameraGY), 32) - 1;
+        columns = Math.floorDiv(Math.max(cameraPrevGX, cameraGX), 32) + Game.getCameraWidth() + 2 - originX;
+        rows = Math.floorDiv(Math.max(cameraPrevGY, cameraGY), 32) + Game.getCameraHeight() + 2 - originY;
+        if (bad.length < rows * columns) { bad = new boolean[rows * columns]; }
+        int maxX = GAME.getMapMaxX();
+        int maxY = GAME.getMapMaxY();
+        for (int j = 0; j < rows; j++) {
+            int y = originY + j;
+            for (int i = 0; i < columns; i++) {
+                int x = originX + i;
+                bad[j * columns + i] = x >= 0 && y >= 0 && x <= maxX && y <= maxY && GAME.isBadTile(y, x);
+            }
+        }
+    }
+
+    /**
+     * Copies the image, position and Emotion of every GameObject near the camera.
+     */
+    private void captureSprites() {
+        int minX = originX - 1;
+        int minY = originY - 1;
+        int maxX = originX + columns;
+        int maxY = originY + rows;
+        spriteCount = 0;
+        SpatialIndex index = GAME.getObjectIndex();
+        int found = index.query(minX, minY, maxX, maxY);
+        for (int i = 0; i < found; i++) {
+            GameObject object = GAME.getObject(index.getResult(i));
+            if (spriteCount == sprites.length) { growSprites(); }
+            sprites[spriteCount] = object.getTile().getSprite();
+            emotions[spriteCount] = object.getEmotion() != null ? object.getEmotion().getSprite() : TextureAtlas.NONE;
+            spritePrevGX[spriteCount] = object.getPrevGX();
+            spritePrevGY[spriteCount] = object.getPrevGY();
+            spriteGX[spriteCount] = object.getGX();
+            spriteGY[spriteCount] = object.getGY();
+            spriteCount++;
+        }
+    }
+
+    private void growSprites() {
+        int size = Math.max(8, sprites.length * 2);
+        sprites = Arrays.copyOf(sprites, size);
+        emotions = Arrays.copyOf(emotions, size);
+        spritePrevGX = Arrays.copyOf(spritePrevGX, size);
+        spritePrevGY = Arrays.copyOf(spritePrevGY, size);
+        spriteGX = Arrays.copyOf(spriteGX, size);
+        spriteGY = Arrays.copyOf(spriteGY, size);
+    }
+
+    /**
+     * Copies the type, image and text of any open TextBox, and the NPC who triggered it.
+     */
+    private void captureTextBox() {
+        TextBox textBox = GAME.getTextBox();
+        if (textBox == null) {
+            textBoxImg = null;
+            return;
+        }
+        textBoxId = textBox.getId();
+        textBoxImg = textBox.getImg();
+        textBoxText = textBox.getText();
+        textBoxNpcImg = textBox.getNpcImg();
+        textBoxNpcName = textBox.getNpcName();
+    }
+
+    /**
+     * Copies the type, images and text of any visible Menu, including its mini-map and sub-menu, and advances the
+     * blink of the player's icon on the mini-map.
+     */
+    private void captureMenu() {
+        Menu menu = GAME.getMenu();
+        if (menu == null || !menu.isVisible()) {
+            menuImg = null;
+            return;
+        }
+        menu.updateBlink(GAME.getTickSeconds());
+        menuId = menu.getCurrentId();
+        menuImg = Menu.getImg();
+        menuText = Menu.getText();
+        menuMapImg = Menu.getMapImg();
+        menuIconImg = menu.getShownIconImg();
+        if (menuIconImg != null) { menuIconPoint.setLocation(Menu.getIconPoint()); }
+        menuSubImg = menu.getSubImg();
+        menuSubText = menu.getSubText();
+    }
+
+    /**
+     * Copies the StatusMenu text, image and line colours.
+     */
+    private void captureStatus() {
+        StatusMenu statusMenu = GAME.getStatusMenu();
+        if (statusMenu == null || StatusMenu.getText() == null) {
+            statusImg = null;
+            return;
+        }
+        statusImg = StatusMenu.getImg();
+        statusText = StatusMenu.getText();
+        statusSubText = StatusMenu.getSubText();
+        int lines = statusText.split("#").length;
+        if (statusSubText != null) { lines = Math.max(lines, statusSubText.split("#").length); }
+        if (statusColours.length < lines) { statusColours = new Color[lines]; }
+        for (int i = 0; i < lines; i++) { statusColours[i] = statusMenu.getColour(i); }
+    }
+
+    boolean isBad(int y, int x) {
+        int i = x - originX;
+        int j = y - originY;
+        return i >= 0 && j >= 0 && i < columns && j < rows && bad[j * columns + i];
+    }
+}
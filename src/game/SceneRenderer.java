@@ -0,0 +1,197 @@
+package game;
+
+import utilities.ImageLoader;
+import utilities.Menu;
+import utilities.StatusMenu;
+import utilities.TextBox;
+import utilities.TextureAtlas;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Draws a RenderSnapshot.
+ * Positions are interpolated between the snapshot's previous and current tick using the time since it was captured.
+ * The map and sprites are drawn unscaled into a frame at the tilesets' own resolution, which is scaled up to the
+ * window with one nearest neighbour blit. Menus, TextBoxes and text are drawn over it at the window's resolution.
+ * The frame is kept between paints. The MapBackground is copied back over wherever the last paint drew sprites or
+ * raycast marks, and when the camera moves the frame is shifted with copyArea and only the strips it exposes are
+ * copied from the MapBackground, so scrolling costs the exposed edge rather than the whole frame.
+ */
+class SceneRenderer {
+    private static final Color BAD_TILE = new Color(255, 0, 0, 48);
+    private static final Font STATS_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final int TILE = Constants.TILE_WIDTH;
+
+    private MapBackground background;
+    private BufferedImage frame;
+    private boolean frameValid;
+    private int frameCameraX;
+    private int frameCameraY;
+    private int[] drawn = new int[32];
+    private int drawnCount;
+
+    /**
+     * Renders the Tiles and GameObjects within range of the camera, as well as any active Menu and TextBox.
+     *
+     * @param g the graphics
+     * @param s the snapshot to render
+     */
+    void paint(Graphics g, RenderSnapshot s) {
+        if (!s.ready || paintTransition(g, s)) { return; }
+        double alpha = Math.min(1, (double) (System.nanoTime() - s.tickTime) / s.stepNanos);
+        if (frame == null) {
+            frame = ImageLoader.createImage(Game.getWidth() / Constants.SCALE, Game.getHeight() / Constants.SCALE,
+                    Transparency.OPAQUE);
+        }
+        Graphics2D fg = frame.createGraphics();
+        paintWorld(fg, s, alpha);
+        fg.dispose();
+        if (g instanceof Graphics2D) {
+            ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        }
+        ImageLoader.check(frame, "frame");
+        g.drawImage(frame, 0, 0, Game.getWidth(), Game.getHeight(), null);
+        if (s.statusImg != null) {
+            ImageLoader.check(s.statusImg, "status menu");
+            StatusMenu.paint(g, s.statusImg, s.statusText, s.statusSubText, s.statusColours);
+        }
+        if (s.menuImg != null) {
+            Menu.paint(g, s.menuId, s.menuImg, s.menuText, s.menuMapImg, s.menuIconImg, s.menuIconPoint,
+                    s.menuSubImg, s.menuSubText);
+        }
+        paintTextBox(g, s);
+        if (s.debug) { paintStats(g, s); }
+    }
+
+    /**
+     * Renders the Tiles, raycast marks, GameObjects and Emotions unscaled into the frame.
+     *
+     * @param g the frame's graphics
+     * @param s the snapshot to render
+     * @param alpha how far the frame is between the snapshot's previous and current tick
+     */
+    private void paintWorld(Graphics g, RenderSnapshot s, double alpha) {
+        int cameraGX = Math.floorDiv(lerp(s.cameraPrevGX, s.cameraGX, alpha), Constants.SCALE);
+        int cameraGY = Math.floorDiv(lerp(s.cameraPrevGY, s.cameraGY, alpha), Constants.SCALE);
+        int cameraX = Math.floorDiv(cameraGX, TILE);
+        int cameraY = Math.floorDiv(cameraGY, TILE);
+        int diffX = cameraGX - cameraX * TILE;
+        int diffY = cameraGY - cameraY * TILE;
+        if (background == null || !background.isFor(s.grid, s.tiles)) {
+            background = MapBackground.get(s.grid, s.tiles);
+            frameValid = false;
+        }
+        if (frameValid) { scroll(g, cameraGX, cameraGY); }
+        if (!frameValid) { background.paint(g, cameraGX, cameraGY, 0, 0, frame.getWidth(), frame.getHeight()); }
+        frameValid = true;
+        frameCameraX = cameraGX;
+        frameCameraY = cameraGY;
+        drawnCount = 0;
+        g.setColor(BAD_TILE);
+        for (int j = 0; j < Game.getCameraHeight() + 2; j++) {
+            for (int i = 0; i < Game.getCameraWidth() + 2; i++) {
+                if (s.isBad(cameraY + j, cameraX + i)) {
+                    g.fillRect(i * TILE - diffX, j * TILE - diffY, TILE, TILE);
+                    addDrawn(i * TILE - diffX, j * TILE - diffY, TILE, TILE);
+                }
+            }
+        }
+        for (int i = 0; i < s.spriteCount; i++) {
+            int x = Math.floorDiv(lerp(s.spritePrevGX[i], s.spriteGX[i], alpha), Constants.SCALE) - cameraGX;
+            int y = Math.floorDiv(lerp(s.spritePrevGY[i], s.spriteGY[i], alpha), Constants.SCALE) - cameraGY;
+            TextureAtlas.draw(g, s.sprites[i], x, y);
+            addDrawn(x, y, TILE, TILE);
+            if (s.emotions[i] != TextureAtlas.NONE) {
+                TextureAtlas.draw(g, s.emotions[i], x, y - TILE);
+                addDrawn(x, y - TILE, TILE, TILE);
+            }
+        }
+    }
+
+    /**
+     * Turns the frame from the last paint back into bare background at the new camera position.
+     * The background is copied back over everything the last paint drew, then the frame is shifted by the distance
+     * the camera moved and the strips uncovered at its edges are copied in. If the camera moved a whole frame or
+     * more, the frame is marked invalid so that it is copied in full.
+     *
+     * @param g the frame's graphics
+     * @param cameraX the x co-ordinate of the camera in tileset pixels
+     * @param cameraY the y co-ordinate of the camera in tileset pixels
+     */
+    private void scroll(Graphics g, int cameraX, int cameraY) {
+        int width = frame.getWidth();
+        int height = frame.getHeight();
+        int dx = cameraX - frameCameraX;
+        int dy = cameraY - frameCameraY;
+        if (Math.abs(dx) >= width || Math.abs(dy) >= height) {
+            frameValid = false;
+            return;
+        }
+        for (int i = 0; i < drawnCount; i += 4) {
+            int x = Math.max(drawn[i], 0);
+            int y = Math.max(drawn[i + 1], 0);
+            int w = Math.min(drawn[i] + drawn[i + 2], width) - x;
+            int h = Math.min(drawn[i + 1] + drawn[i + 3], height) - y;
+            if (w > 0 && h > 0) { background.paint(g, frameCameraX, frameCameraY, x, y, w, h); }
+        }
+        if (dx == 0 && dy == 0) { return; }
+        g.copyArea(0, 0, width, height, -dx, -dy);
+        if (dx > 0) { background.paint(g, cameraX, cameraY, width - dx, 0, dx, height); }
+        else if (dx < 0) { background.paint(g, cameraX, cameraY, 0, 0, -dx, height); }
+        if (dy > 0) { background.paint(g, cameraX, cameraY, 0, height - dy, width, dy); }
+        else if (dy < 0) { background.paint(g, cameraX, cameraY, 0, 0, width, -dy); }
+    }
+
+    /**
+     * Records an area of the frame drawn over the background, to be restored on the next paint.
+     */
+    private void addDrawn(int x, int y, int width, int height) {
+        if (drawnCount + 4 > drawn.length) { drawn = Arrays.copyOf(drawn, drawn.length * 2); }
+        drawn[drawnCount++] = x;
+        drawn[drawnCount++] = y;
+        drawn[drawnCount++] = width;
+        drawn[drawnCount++] = height;
+    }
+
+    /**
+     * Renders the achieved frame rate, skipped frames and average update and render times in debug mode.
+     *
+     * @param g the graphics
+     * @param s the snapshot to render
+     */
+    private void paintStats(Graphics g, RenderSnapshot s) {
+        String stats = String.format("%.0f fps  %d skipped  update %.2f ms  render %.2f ms",
+                s.fps, s.skipped, s.updateMillis, s.renderMillis);
+        g.setFont(STATS_FONT);
+        g.setColor(Color.black);
+        g.fillRect(0, Game.getHeight() - 16, g.getFontMetrics().stringWidth(stats) + 8, 16);
+        g.setColor(Color.white);
+        g.drawString(stats, 4, Game.getHeight() - 4);
+    }
+
+    /**
+     * Renders the transition screens between various game states
+     *
+     * @param g the graphics
+     * @param s the snapshot to render
+     * @return whether or not it is currently a state transition
+     */
+    private boolean paintTransition(Graphics g, RenderSnapshot s) {
+        if (!s.transitionScreen && !s.blackout && !s.result) { return false; }
+        g.setColor(Color.black);
+        g.fillRect(0, 0, Game.getWidth() * 2, Game.getHeight() * 2);
+        if (!s.blackout || s.transitionScreen) { paintTextBox(g, s); }
+        return true;
+    }
+
+    private void paintTextBox(Graphics g, RenderSnapshot s) {
+        if (s.textBoxImg != null) {
+            TextBox.paint(g, s.textBoxId, s.textBoxImg, s.textBoxText, s.textBoxNpcImg, s.textBoxNpcName);
+        }
+    }
+
+    private static int lerp(int from, int to, double alpha) { return (int) Math.round(from + (to - from) * alpha); }
+}
@@ -0,0 +1,175 @@
+package game;
+
+import objects.GameObject;
+
+import java.util.Arrays;
+
+/**
+ * Indexes the GameObjects on the current map by position.
+ * Each tile holds the GameObject standing on it, for movement and interaction checks. The map is also divided into
+ * square buckets of BUCKET_SIZE tiles, each listing the ids of the GameObjects inside it, so range queries only
+ * visit the buckets they overlap instead of every GameObject. Ids are the GameObjects' indices in Game's objects
+ * list, and query results are sorted by id so they keep the list's drawing order.
+ * The index is updated as GameObjects move, and only rebuilt when the objects list itself changes.
+ */
+class SpatialIndex {
+    private static final int BUCKET_SHIFT = 3;
+    private static final int BUCKET_SIZE = 1 << BUCKET_SHIFT;
+
+    private final int rows;
+    private final int columns;
+    private final int bucketColumns;
+    private final int bucketRows;
+    private final GameObject[] cells;
+    private final int[][] buckets;
+    private final int[] bucketSizes;
+    private int[] positionsX = new int[16];
+    private int[] positionsY = new int[16];
+    private int[] results = new int[16];
+
+    /**
+     * Class constructor.
+     *
+     * @param rows the height of the map
+     * @param columns the width of the map
+     */
+    SpatialIndex(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        bucketColumns = (columns + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+        bucketRows = (rows + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+        cells = new GameObject[rows * columns];
+        buckets = new int[bucketRows * bucketColumns][];
+        bucketSizes = new int[buckets.length];
+    }
+
+    private boolean contains(int y, int x) { return x >= 0 && y >= 0 && x < columns && y < rows; }
+
+    /**
+     * @return the GameObject on a tile, or null if it is empty
+     * @throws ArrayIndexOutOfBoundsException if the tile is outside the map
+     */
+    GameObject get(int y, int x) {
+        if (!contains(y, x)) { throw new ArrayIndexOutOfBoundsException("(" + x + ", " + y + ")"); }
+        return cells[y * columns + x];
+    }
+
+    /**
+     * Places a GameObject on a tile.
+     *
+     * @param id the GameObject's index in the objects list
+     * @param object the GameObject
+     * @throws ArrayIndexOutOfBoundsException if the tile is outside the map
+     */
+    void add(int id, GameObject object, int x, int y) {
+        if (!contains(y, x)) { throw new ArrayIndexOutOfBoundsException("(" + x + ", " + y + ")"); }
+        cells[y * columns + x] = object;
+        if (id >= positionsX.length) {
+            positionsX = Arrays.copyOf(positionsX, Math.max(id + 1, positionsX.length * 2));
+            positionsY = Arrays.copyOf(positionsY, positionsX.length);
+        }
+        positionsX[id] = x;
+        positionsY[id] = y;
+        int bucket = bucket(x, y);
+        if (buckets[bucket] == null) { buckets[bucket] = new int[4]; }
+        else if (bucketSizes[bucket] == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+        }
+        buckets[bucket][bucketSizes[bucket]++] = id;
+    }
+
+    /**
+     * Takes a GameObject off a tile. Tiles outside the map and GameObjects that aren't there are ignored.
+     *
+     * @param id the GameObject's index in the objects list
+     * @param object the GameObject
+     */
+    void remove(int id, GameObject object, int x, int y) {
+        if (!contains(y, x)) { return; }
+        if (cells[y * columns + x] == object) { cells[y * columns + x] = null; }
+        int bucket = bucket(x, y);
+        int[] ids = buckets[bucket];
+        for (int i = 0; i < bucketSizes[bucket]; i++) {
+            if (ids[i] == id) {
+                ids[i] = ids[--bucketSizes[bucket]];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finds the GameObjects inside a rectangle of tiles.
+     * The ids found are read with getResult, and stay valid until the next query.
+     *
+     * @param minX the left of the rectangle
+     * @param minY the top of the rectangle
+     * @param maxX the right of the rectangle (inclusive)
+     * @param maxY the bottom of the rectangle (inclusive)
+     * @return the number of GameObjects found
+     */
+    int query(int minX, int minY, int maxX, int maxY) { return query(minX, minY, maxX, maxY, 0, 0, -1); }
+
+    /**
+     * Finds the GameObjects within a distance of a tile.
+     * The ids found are read with getResult, and stay valid until the next query.
+     *
+     * @param x the x co-ordinate of the centre
+     * @param y the y co-ordinate of the centre
+     * @param radius the greatest distance in tiles
+     * @return the number of GameObjects found
+     */
+    int queryRadius(int x, int y, int radius) {
+        return query(x - radius, y - radius, x + radius, y + radius, x, y, radius);
+    }
+
+    int getResult(int index) { return results[index]; }
+
+    /**
+     * Finds the closest GameObject in a straight line from a tile, not counting the tile itself.
+     *
+     * @param x the x co-ordinate to look from
+     * @param y the y co-ordinate to look from
+     * @param direction the direction to look in (0 = up, 1 = down, 2 = left, 3 = right)
+     * @param range the furthest distance in tiles to look
+     * @return the closest GameObject, or null if there is none in range
+     */
+    GameObject nearestInDirection(int x, int y, int direction, int range) {
+        int dx = direction == 2 ? -1 : direction == 3 ? 1 : 0;
+        int dy = direction == 0 ? -1 : direction == 1 ? 1 : 0;
+        for (int i = 1; i <= range; i++) {
+            int tx = x + dx * i;
+            int ty = y + dy * i;
+            if (!contains(ty, tx)) { return null; }
+            if (cells[ty * columns + tx] != null) { return cells[ty * columns + tx]; }
+        }
+        return null;
+    }
+
+    private int query(int minX, int minY, int maxX, int maxY, int centreX, int centreY, int radius) {
+        int count = 0;
+        int fromColumn = Math.max(minX, 0) >> BUCKET_SHIFT;
+        int fromRow = Math.max(minY, 0) >> BUCKET_SHIFT;
+        int toColumn = Math.min(maxX >> BUCKET_SHIFT, bucketColumns - 1);
+        int toRow = Math.min(maxY >> BUCKET_SHIFT, bucketRows - 1);
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int bucket = row * bucketColumns + column;
+                for (int i = 0; i < bucketSizes[bucket]; i++) {
+                    int id = buckets[bucket][i];
+                    int x = positionsX[id];
+                    int y = positionsY[id];
+                    if (x < minX || x > maxX || y < minY || y > maxY) { continue; }
+                    if (radius >= 0 && (x - centreX) * (x - centreX) + (y - centreY) * (y - centreY) > radius * radius) {
+                        continue;
+                    }
+                    if (count == results.length) { results = Arrays.copyOf(results, count * 2); }
+                    results[count++] = id;
+                }
+            }
+        }
+        Arrays.sort(results, 0, count);
+        return count;
+    }
+
+    private int bucket(int x, int y) { return (y >> BUCKET_SHIFT) * bucketColumns + (x >> BUCKET_SHIFT); }
+}
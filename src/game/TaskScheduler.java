@@ -0,0 +1,90 @@
+package game;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Runs deferred work inside the game tick within a time budget.
+ * Jobs are split into small steps, so long work is spread across several ticks instead of stalling one.
+ * Higher priority jobs are stepped first, and jobs of the same priority run in the order they were submitted.
+ * HIGH jobs are work the current tick's snapshot needs, e.g. the raycast marks of hostile NPCs, so they are always
+ * finished by run. NORMAL jobs, e.g. moving the NPCs of a map just left back to their places, and LOW jobs, e.g.
+ * preparing the maps behind nearby doors, share what is left of the budget.
+ */
+class TaskScheduler {
+    static final int HIGH = 0;
+    static final int NORMAL = 1;
+    static final int LOW = 2;
+
+    /**
+     * A resumable job.
+     */
+    interface Task {
+        /**
+         * Does the next part of the job.
+         *
+         * @return whether or not the job is finished
+         */
+        boolean step();
+    }
+
+    private final List<Deque<Task>> queues = new ArrayList<>();
+    private final long budgetNanos;
+
+    /**
+     * Class constructor.
+     *
+     * @param budgetMillis the time that may be spent on jobs each tick
+     */
+    TaskScheduler(double budgetMillis) {
+        budgetNanos = (long) (budgetMillis * 1_000_000);
+        for (int i = HIGH; i <= LOW; i++) { queues.add(new ArrayDeque<>()); }
+    }
+
+    void submit(Task task, int priority) { queues.get(priority).addLast(task); }
+
+    boolean isIdle() {
+        for (Deque<Task> queue : queues) {
+            if (!queue.isEmpty()) { return false; }
+        }
+        return true;
+    }
+
+    /**
+     * Finishes the HIGH jobs, then steps the other queued jobs until the budget for this tick is spent.
+     * At least one step is always taken, so jobs still finish on a machine that can't meet the budget.
+     */
+    void run() {
+        Deque<Task> high = queues.get(HIGH);
+        while (!high.isEmpty()) {
+            if (high.peekFirst().step()) { high.pollFirst(); }
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        do {
+            Deque<Task> queue = next();
+            if (queue == null) { return; }
+            if (queue.peekFirst().step()) { queue.pollFirst(); }
+        } while (System.nanoTime() < deadline);
+    }
+
+    /**
+     * Runs a job to completion straight away, e.g. when its result is needed in this tick.
+     *
+     * @param task the job to finish
+     */
+    void finish(Task task) {
+        boolean queued = false;
+        for (Deque<Task> queue : queues) { queued |= queue.remove(task); }
+        if (!queued) { return; }
+        while (!task.step()) { /* Keep stepping */ }
+    }
+
+    private Deque<Task> next() {
+        for (Deque<Task> queue : queues) {
+            if (!queue.isEmpty()) { return queue; }
+        }
+        return null;
+    }
+}
@@ -1,17 +1,22 @@
 package game;
 
+import objects.DoorTarget;
 import objects.DoorTile;
+import objects.InteractivePoint;
 import objects.InteractiveTile;
 import objects.NPC;
+import objects.NPCSpawn;
 import utilities.NPCLoader;
-import utilities.Pair;
 import objects.Tile;
+import objects.TileTable;
+import utilities.IntKeyMap;
 import utilities.TextBox;
 import utilities.TileMapLoader;
 
 import java.awt.*;
 import java.util.List;
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
 
 import static game.Game.GAME;
@@ -21,21 +26,35 @@ import static game.Game.GAME;
  */
 public class TileMap {
     private int id;
+    private int tileSetID;
     private int miniMapId;
     private File txtFile;
+    private File mapFile;
+    private MapFile compiled;
     private Point iconPoint;
 
-    private TreeMap<Character, Tile> tiles;
+    private MapGrid grid;
+    private TileTable tiles;
+    private CellMask collisionMask;
+    private CellMask doorMask;
+    private CellMask blockedMask;
     private TreeMap<Integer, List<NPC>> NPCs;
-    private HashMap<Point, Pair<Integer, Point>> doorPoints;
-    private HashMap<Point, TextBox> interactivePoints;
+    private IntKeyMap<DoorTarget> doorPoints;
+    private IntKeyMap<TextBox> interactivePoints;
+    private int[] doorXs;
+    private int[] doorYs;
+    private DoorTarget[] doorTargets;
+    private PrepareTask pendingPrepare;
+    private int preparedKey = -1;
+    private ResetTask pendingReset;
 
     /**
      * Class constructor.
      *
      * @param id the identifier for map
      * @param tileSetID the identifier for the tileset that will be used in TileMapLoader
-     * @param txtFile the text file that will be read for the map layout
+     * @param txtFile the text file that will be read for the map layout, or its compiled map if that is current.
+     *                A missing or out of date compiled map is built, unless COMPILE_MAPS is off
      * @param tileFile the image that will be used in TileMapLoader
      * @param miniMapId the identifier for the MiniMap icon
      * @param x the width of the map
@@ -43,42 +62,281 @@ public class TileMap {
      */
     public TileMap(int id, int tileSetID, String txtFile, String tileFile, int miniMapId, int x, int y) {
         this.id = id;
+        this.tileSetID = tileSetID;
         this.txtFile = new File("resources/maps/"+txtFile+".txt");
+        mapFile = new File("resources/maps/"+txtFile+".map");
         String tileFile1 = "resources/tilesets/" + tileFile + ".png";
         tiles = TileMapLoader.readTileSet(tileSetID, tileFile1);
-        doorPoints = DoorTile.initialisePoints(id);
-        interactivePoints = InteractiveTile.initialisePoints(id);
+        IntKeyMap<DoorTarget> doors = DoorTile.initialisePoints(id);
+        IntKeyMap<InteractivePoint> points = InteractiveTile.initialisePoints(id);
+        TreeMap<Integer, List<NPC>> loaded = loadNPCs(id);
+        TreeMap<Integer, List<NPCSpawn>> spawns = getSpawns(loaded);
+        long sourceHash = MapFile.sourceHash(this.txtFile, tileSetID, doors, points, spawns);
+        compiled = MapFile.openIfCurrent(mapFile, sourceHash);
+        if (compiled == null && Constants.COMPILE_MAPS) {
+            try {
+                compile(sourceHash, doors, points, spawns);
+                compiled = MapFile.openIfCurrent(mapFile, sourceHash);
+            } catch (IOException e) {
+                System.out.println("Cannot build compiled map " + mapFile + ", using " + this.txtFile + ".");
+                e.printStackTrace();
+            }
+        }
+        doorPoints = compiled != null ? compiled.getDoorPoints() : doors;
+        interactivePoints = createTextBoxes(compiled != null ? compiled.getInteractivePoints() : points);
+        indexDoors();
         this.miniMapId = miniMapId;
         iconPoint = new Point(x, y);
-        try { NPCs = NPCLoader.getNPCs(id); }
-        catch (NullPointerException e) { /* No NPCs in map */}
+        NPCs = compiled != null ? createNPCs(compiled.getSpawns()) : loaded;
     }
 
     public int getId() { return id; }
 
     int getMiniMapId() { return miniMapId; }
 
-    File getTxtFile() { return txtFile; }
+    /**
+     * Gets the map's layout, reading it from the map's text file the first time it is needed.
+     * A compiled map's layout is used in place, without reading it.
+     *
+     * @return the grid of the map's tile keys
+     * @throws IOException if the text file cannot be read or found
+     */
+    MapGrid getGrid() throws IOException {
+        if (grid == null) { grid = compiled != null ? compiled.getGrid() : MapGrid.read(txtFile); }
+        return grid;
+    }
+
+    /**
+     * Compiles the map from its text file, the door and interactive points defined in DoorTile and InteractiveTile,
+     * and the NPC spawns defined in NPCLoader, writing it next to the text file.
+     *
+     * @throws IOException if the text file cannot be read or the compiled map cannot be written
+     */
+    void compile() throws IOException {
+        IntKeyMap<DoorTarget> doors = DoorTile.initialisePoints(id);
+        IntKeyMap<InteractivePoint> points = InteractiveTile.initialisePoints(id);
+        TreeMap<Integer, List<NPCSpawn>> spawns = getSpawns(loadNPCs(id));
+        compile(MapFile.sourceHash(txtFile, tileSetID, doors, points, spawns), doors, points, spawns);
+    }
+
+    private void compile(long sourceHash, IntKeyMap<DoorTarget> doors, IntKeyMap<InteractivePoint> points,
+                         TreeMap<Integer, List<NPCSpawn>> spawns) throws IOException {
+        MapFile.write(mapFile, tileSetID, sourceHash, MapGrid.read(txtFile), doors, points, spawns);
+    }
+
+    /**
+     * @return the map's NPCs for each time period from NPCLoader, or null if the map has none
+     */
+    private static TreeMap<Integer, List<NPC>> loadNPCs(int id) {
+        try { return NPCLoader.getNPCs(id); }
+        catch (NullPointerException e) { return null; }
+    }
+
+    private static TreeMap<Integer, List<NPCSpawn>> getSpawns(TreeMap<Integer, List<NPC>> npcs) {
+        TreeMap<Integer, List<NPCSpawn>> spawns = new TreeMap<>();
+        if (npcs == null) { return spawns; }
+        npcs.forEach((time, list) -> {
+            List<NPCSpawn> spawnList = new ArrayList<>();
+            for (NPC npc : list) { spawnList.add(npc.getSpawn()); }
+            spawns.put(time, spawnList);
+        });
+        return spawns;
+    }
+
+    /**
+     * @return new NPCs for each time period from a compiled map's spawns, or null if the map has none
+     */
+    private static TreeMap<Integer, List<NPC>> createNPCs(TreeMap<Integer, List<NPCSpawn>> spawns) {
+        if (spawns.isEmpty()) { return null; }
+        TreeMap<Integer, List<NPC>> npcs = new TreeMap<>();
+        spawns.forEach((time, list) -> {
+            List<NPC> npcList = new ArrayList<>();
+            for (NPCSpawn spawn : list) { npcList.add(spawn.createNPC()); }
+            npcs.put(time, npcList);
+        });
+        return npcs;
+    }
+
+    /**
+     * Queues the maps behind any doors near a co-ordinate to be prepared, so walking through one loads nothing.
+     *
+     * @param x the x co-ordinate, usually the Player's
+     * @param y the y co-ordinate, usually the Player's
+     * @param distance the distance in tiles within which a door counts as near
+     */
+    void prepareNeighbours(int x, int y, int distance) {
+        for (int i = 0; i < doorXs.length; i++) {
+            if (Math.abs(doorXs[i] - x) + Math.abs(doorYs[i] - y) <= distance) {
+                DoorTarget door = doorTargets[i];
+                TileMapLoader.tileMaps.get(door.getMapId()).prepare(door.getX(), door.getY());
+            }
+        }
+    }
+
+    /**
+     * Queues the chunks of the map around a co-ordinate to be prepared as low priority work, unless they have
+     * already been prepared or queued. The grid is read and the masks are created in the first step, and the masks
+     * of one chunk are compiled and its background rendered in each step after that.
+     *
+     * @param x the x co-ordinate, usually where a door arrives
+     * @param y the y co-ordinate, usually where a door arrives
+     */
+    void prepare(int x, int y) {
+        int key = IntKeyMap.key(x, y);
+        if (pendingPrepare != null || preparedKey == key) { return; }
+        preparedKey = key;
+        pendingPrepare = new PrepareTask(x, y);
+        GAME.getScheduler().submit(pendingPrepare, TaskScheduler.LOW);
+    }
+
+    private void indexDoors() {
+        doorXs = new int[doorPoints.size()];
+        doorYs = new int[doorPoints.size()];
+        doorTargets = new DoorTarget[doorPoints.size()];
+        int[] next = new int[1];
+        doorPoints.forEach((key, door) -> {
+            doorXs[next[0]] = IntKeyMap.keyX(key);
+            doorYs[next[0]] = IntKeyMap.keyY(key);
+            doorTargets[next[0]] = door;
+            next[0]++;
+        });
+    }
+
+    private static IntKeyMap<TextBox> createTextBoxes(IntKeyMap<InteractivePoint> points) {
+        IntKeyMap<TextBox> textBoxes = new IntKeyMap<>();
+        points.forEach((key, point) -> textBoxes.put(key, point.createTextBox()));
+        return textBoxes;
+    }
 
     Point getIconPoint() { return iconPoint; }
 
-    TreeMap<Character, Tile> copyTiles() { return new TreeMap<>(tiles); }
-    Tile getTile(Character key) { return tiles.get(key); }
-    void putTile(Character key, Tile tile) { tiles.put(key, tile); }
+    TileTable copyTiles() { return new TileTable(tiles); }
+    Tile getTile(char key) { return tiles.get(key); }
+    void putTile(Tile tile) { tiles.put(tile); }
+
+    /**
+     * Creates the map's collision and door masks, unless they have already been created.
+     * Nothing is read from the grid yet; each chunk of a mask is compiled the first time it is looked at, and again
+     * after a tile is replaced.
+     *
+     * @throws IOException if the map's text file cannot be read or found
+     */
+    void createMasks() throws IOException {
+        if (collisionMask != null) { return; }
+        MapGrid grid = getGrid();
+        collisionMask = new CellMask(grid, tiles, TileTable.COLLISION);
+        doorMask = new CellMask(grid, tiles, TileTable.DOOR);
+        blockedMask = new CellMask(grid, tiles, TileTable.COLLISION | TileTable.DOOR);
+    }
+
+    CellMask getCollisionMask() { return collisionMask; }
+    CellMask getDoorMask() { return doorMask; }
+
+    /**
+     * @return the mask of cells NPCs can't move onto or see through, i.e. collision and door tiles
+     */
+    CellMask getBlockedMask() { return blockedMask; }
 
     public List<NPC> getNPCs(Integer key) { return NPCs.get(key); }
     public int getNumberOfNPCs(Integer key) { return NPCs.get(key).size(); }
+
+    /**
+     * Queues the current time period's NPCs to be moved back to their starting positions.
+     * The reset is spread over the next ticks, and finished early if the map is loaded or its NPCs come back into
+     * play before then, e.g. at the end of a Lesson.
+     */
     public void resetNPCs() {
-        try {
-            for (int i = 0; i < getNumberOfNPCs(GAME.getTime()); i++) {
-                NPC npc = getNPCs(GAME.getTime()).get(i);
-                npc.reset();
+        finishReset();
+        List<NPC> npcs;
+        try { npcs = getNPCs(GAME.getTime()); }
+        catch (NullPointerException e) { return; }
+        if (npcs == null || npcs.isEmpty()) { return; }
+        pendingReset = new ResetTask(npcs);
+        GAME.getScheduler().submit(pendingReset, TaskScheduler.NORMAL);
+    }
+
+    /**
+     * Completes any queued NPC reset, so the map is never entered with NPCs still out of place.
+     */
+    void finishReset() {
+        if (pendingReset != null) { GAME.getScheduler().finish(pendingReset); }
+    }
+
+    public DoorTarget getDoorPoint(int x, int y) { return doorPoints.get(IntKeyMap.key(x, y)); }
+
+    TextBox getInteractivePoint(int x, int y) { return interactivePoints.get(IntKeyMap.key(x, y)); }
+    void putPoint(int x, int y, TextBox textBox) { interactivePoints.put(IntKeyMap.key(x, y), textBox); }
+
+    /**
+     * Prepares the chunks of the map that can be seen from a co-ordinate, one chunk at a time.
+     */
+    private class PrepareTask implements TaskScheduler.Task {
+        private final int x;
+        private final int y;
+        private MapBackground background;
+        private int fromColumn;
+        private int fromRow;
+        private int columns;
+        private int count;
+        private int next = -1;
+
+        PrepareTask(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        public boolean step() {
+            if (next < 0) {
+                try { createMasks(); }
+                catch (IOException e) {
+                    System.out.println("Cannot prepare map " + id + ".");
+                    e.printStackTrace();
+                    pendingPrepare = null;
+                    return true;
+                }
+                background = MapBackground.get(grid, tiles);
+                int rangeX = Game.getCameraWidth() / 2 + 1;
+                int rangeY = Game.getCameraHeight() / 2 + 1;
+                if (x - rangeX < 0 || y - rangeY < 0 || x + rangeX >= grid.getColumns() ||
+                        y + rangeY >= grid.getRows()) { background.prerender(-1, -1); }
+                fromColumn = Math.max(x - rangeX, 0) >> MapGrid.CHUNK_SHIFT;
+                fromRow = Math.max(y - rangeY, 0) >> MapGrid.CHUNK_SHIFT;
+                columns = (Math.min(x + rangeX, grid.getColumns() - 1) >> MapGrid.CHUNK_SHIFT) - fromColumn + 1;
+                count = ((Math.min(y + rangeY, grid.getRows() - 1) >> MapGrid.CHUNK_SHIFT) - fromRow + 1) * columns;
+                next = 0;
             }
-        } catch (NullPointerException e) { /* Do nothing */ }
+            else {
+                int cy = fromRow + next / columns;
+                int cx = fromColumn + next % columns;
+                collisionMask.compileChunk(cy, cx);
+                doorMask.compileChunk(cy, cx);
+                blockedMask.compileChunk(cy, cx);
+                background.prerender(cy, cx);
+                next++;
+            }
+            if (next < count) { return false; }
+            pendingPrepare = null;
+            return true;
+        }
     }
 
-    public Pair<Integer, Point> getDoorPoint(Point key) { return doorPoints.get(key); }
+    /**
+     * Resets a list of NPCs, a few at a time.
+     */
+    private class ResetTask implements TaskScheduler.Task {
+        private static final int NPCS_PER_STEP = 4;
+
+        private final List<NPC> npcs;
+        private int next;
 
-    TextBox getInteractivePoint(Point key) { return interactivePoints.get(key); }
-    void putPoint(Point key, TextBox textBox) { interactivePoints.put(key, textBox); }
+        ResetTask(List<NPC> npcs) { this.npcs = npcs; }
+
+        public boolean step() {
+            int end = Math.min(next + NPCS_PER_STEP, npcs.size());
+            for (; next < end; next++) { npcs.get(next).reset(); }
+            if (next < npcs.size()) { return false; }
+            pendingReset = null;
+            return true;
+        }
+    }
 }
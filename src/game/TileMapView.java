@@ -14,9 +14,8 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.TreeMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static game.Game.GAME;
 
@@ -28,8 +27,13 @@ class TileMapView extends JComponent implements MouseListener, MouseMotionListen
     private int miniMapId;
     private int maxX;
     private int maxY;
-    private List<List<Character>> matrix;
-    private TreeMap<Character, Tile> tiles;
+    private MapGrid grid;
+    private TileTable tiles;
+    private CellMask collisionMask;
+    private CellMask doorMask;
+    private CellMask blockedMask;
+    private final SceneRenderer renderer = new SceneRenderer();
+    private final Queue<MouseEvent> presses = new ConcurrentLinkedQueue<>();
 
     /**
      * Class constructor.
@@ -50,51 +54,39 @@ class TileMapView extends JComponent implements MouseListener, MouseMotionListen
 
     int getMaxY() { return maxY; }
 
-    int getMatrixRows() { return matrix.size(); }
-    int getMatrixCols() { return matrix.get(0).size(); }
-    List<Character> getMatrixLine(int index) { return matrix.get(index); }
+    MapGrid getGrid() { return grid; }
 
-    TreeMap<Character, Tile> getTiles() { return tiles; }
+    TileTable getTiles() { return tiles; }
 
-    /**
-     * Reads and stores the current TileMap information from its text file
-     *
-     * @param txtFile the current map's text file
-     * @return a 2-dimensional List of Characters that represent's the current map's text file
-     * @throws IOException if the map's text file cannot be read or found
-     */
-    private static List<List<Character>> readMap(File txtFile) throws IOException {
-        String line;
-        List<List<Character>> matrix = new ArrayList<>();
-        FileReader fr = new FileReader(txtFile);
-        BufferedReader br = new BufferedReader(fr);
+    CellMask getCollisionMask() { return collisionMask; }
 
-        while ( (line = br.readLine()) != null ) {
-            List<Character> row = new ArrayList<>();
-            for (char ch : line.toCharArray()) { row.add(ch); }
-            matrix.add(row);
-        }
-        return matrix;
-    }
+    CellMask getDoorMask() { return doorMask; }
+
+    CellMask getBlockedMask() { return blockedMask; }
 
     /**
      * Loads the supplied TileMap into the game.
      * Updates various fields and the game's matrices to represent the new map.
+     * The air vent only exists in the ground floor school hall, so it is only updated when that map is loaded.
      *
      * @param map the TileMap to be loaded into the game.
      */
     void loadMap(TileMap map) {
-        GAME.updateAirVent();
+        map.finishReset();
+        if (map.getId() == 0) { GAME.updateAirVent(); }
         try {
-            this.matrix = readMap(map.getTxtFile());
-            maxX = matrix.get(0).size() - 1;
-            maxY = matrix.size() - 1;
+            grid = map.getGrid();
+            maxX = grid.getColumns() - 1;
+            maxY = grid.getRows() - 1;
             tiles = map.copyTiles();
+            map.createMasks();
+            collisionMask = map.getCollisionMask();
+            doorMask = map.getDoorMask();
+            blockedMask = map.getBlockedMask();
             currentId = map.getId();
             miniMapId = map.getMiniMapId();
-            GAME.setTileMatrix(matrix.size(), matrix.get(0).size());
-            GAME.setBadTileMatrix(matrix.size(), matrix.get(0).size());
-            GAME.setObjectMatrix(matrix.size(), matrix.get(0).size());
+            GAME.setBadTileMatrix(grid.getRows(), grid.getColumns());
+            GAME.setObjectMatrix(grid.getRows(), grid.getColumns());
             Menu.setIconPoint(new Point(map.getIconPoint()));
         } catch (FileNotFoundException e) {
             System.out.println("Cannot find map txt file.");
@@ -106,99 +98,46 @@ class TileMapView extends JComponent implements MouseListener, MouseMotionListen
     }
 
     /**
-     * Renders the Tiles and GameObjects within range of the game's camera, as well as any active Menu and TextBox.
+     * Renders the most recently published RenderSnapshot.
      *
      * @param g the graphics
      */
     public void paintComponent(Graphics g) {
-        if (paintTransition(g)) { return; }
-        for (int j = -1; j < Game.getCameraHeight() + 2; j++) {
-            for (int i = -1; i < Game.getCameraWidth() + 2; i++) {
-                try {
-                    Tile tile = tiles.get(matrix.get(GAME.getCamera().getY() + j).get(GAME.getCamera().getX() + i));
-                    g.drawImage(tile.getImg(), i * 32 - GAME.getCamera().getDiffX(),
-                            j * 32 - GAME.getCamera().getDiffY(), 32, 32, null);
-                    if (GAME.isBadTile(GAME.getCamera().getY() + j, GAME.getCamera().getX() + i)) {
-                        g.setColor(new Color(255, 0, 0, 48));
-                        g.fillRect(i * 32 - GAME.getCamera().getDiffX(), j * 32 - GAME.getCamera().getDiffY(), 32, 32);
-                    }
-                } catch (IndexOutOfBoundsException e) {
-                    Tile tile = tiles.get('#');
-                    g.drawImage(tile.getImg(), i * 32 - GAME.getCamera().getDiffX(),
-                            j * 32 - GAME.getCamera().getDiffY(), 32, 32, null);
-                } catch (NullPointerException e) { /* Do nothing */ }
-            }
-        }
-        synchronized (Game.class) {
-            for (int i = 0; i < GAME.getNumberOfObjects(); i++) {
-                GameObject object = GAME.getObject(i);
-                if (object.getX() >= GAME.getCamera().getX() - 1 &&
-                        object.getX() <= GAME.getCamera().getX() + Game.getCameraWidth() + 1 &&
-                        object.getY() >= GAME.getCamera().getY() - 1 &&
-                        object.getY() <= GAME.getCamera().getY() + Game.getCameraHeight() + 1) {
-                    object.paintComponent(g);
-                }
-            }
-            if (GAME.getStatusMenu() != null) { GAME.getStatusMenu().paintComponent(g); }
-            if (GAME.getMenu() != null) {
-                if (GAME.getMenu().isVisible()) {
-                    GAME.getMenu().paintComponent(g);
-                }
-            }
-            if (GAME.getTextBox() != null) { GAME.getTextBox().paintComponent(g); }
-        }
+        if (GAME.getSnapshots() != null) { renderer.paint(g, GAME.getSnapshots().acquire()); }
     }
 
+    public void mouseClicked(MouseEvent e) {}
+    public void mouseReleased(MouseEvent e) {}
+    public void mouseEntered(MouseEvent e) {}
+    public void mouseExited(MouseEvent e) {}
+
     /**
-     * Renders the transition screens between various game states
+     * Queues a mouse press for the game thread, as handling it changes the game's state.
      *
-     * @param g the graphics
-     * @return whether or not it is currently a state transition
+     * @param e the mouse event
      */
-    private boolean paintTransition(Graphics g) {
-        String text = null;
-        if (GAME.isNewGame()) { text = utilities.FileReader.getMenuString(54); }
-        if (GAME.isNewDay()) { text = GAME.getNewDayText(); }
-        if (GAME.isAfterActivity()) { text = GAME.getActivity().getAfterText(); }
-        if (GAME.isHeist()) { text = utilities.FileReader.getMenuString(50); }
-        if (GAME.hasGotAnswers()) { text = utilities.FileReader.getMenuString(52); }
-        if (GAME.hasLostHeist()) { text = utilities.FileReader.getMenuString(55); }
-        if (GAME.hasWonHeist()) { text = utilities.FileReader.getMenuString(56); }
-        if (text != null) {
-            g.fillRect(0, 0, Game.getWidth() * 2, Game.getHeight() * 2);
-            GAME.setTextBox(new TextBox(0, text));
-            GAME.getTextBox().paintComponent(g);
-            return true;
-        }
-        else if (GAME.isTransition()) {
-            g.fillRect(0, 0, Game.getWidth() * 2, Game.getHeight() * 2);
-            return true;
-        }
-        else if (GAME.isResult()) {
-            g.fillRect(0, 0, Game.getWidth() * 2, Game.getHeight() * 2);
-            GAME.getTextBox().paintComponent(g);
-            return true;
-        }
-        else { return false; }
+    public void mousePressed(MouseEvent e) { presses.add(e); }
 
+    /**
+     * Handles the mouse presses queued since the last tick.
+     * Called by the game thread at the start of each tick.
+     */
+    void handlePresses() {
+        MouseEvent e;
+        while ((e = presses.poll()) != null) { handlePress(e); }
     }
 
-    public void mouseClicked(MouseEvent e) {}
-    public void mouseReleased(MouseEvent e) {}
-    public void mouseEntered(MouseEvent e) {}
-    public void mouseExited(MouseEvent e) {}
-
     /**
      * Handles navigating Menus and TextBoxes.
      *
      * @param e the mouse event
      */
-    public void mousePressed(MouseEvent e) {
+    private void handlePress(MouseEvent e) {
         int curX = e.getX();
         int curY = e.getY();
         int x = (int) GAME.getPlayer().getDirection().getX();
         int y = (int) GAME.getPlayer().getDirection().getY();
-        Tile dirTile = tiles.get(matrix.get(y).get(x));
+        char dirKey = grid.get(y, x);
 
         if (e.getButton() == MouseEvent.BUTTON1) {
             if (GAME.getMenu() == null) {
@@ -207,10 +146,10 @@ class TileMapView extends JComponent implements MouseListener, MouseMotionListen
                     if (GAME.getTime() == 11) {
                         GAME.setTextBox(new TextBox(0, utilities.FileReader.getMenuString(53)));
                     }
-                    else if (dirTile instanceof InteractiveTile) {
+                    else if (tiles.isInteractive(dirKey)) {
                         TileMap currentMap = TileMapLoader.tileMaps.get(GAME.getMapId());
-                        GAME.setTextBox(currentMap.getInteractivePoint(new Point(x, y)));
-                        if ((((InteractiveTile) dirTile).isMenu())) {
+                        GAME.setTextBox(currentMap.getInteractivePoint(x, y));
+                        if (tiles.isMenu(dirKey)) {
                             GAME.setMenu(new Menu(14)); }
                     }
                     else if (GAME.isTileNPC(y, x)) {
@@ -535,14 +474,14 @@ class TileMapView extends JComponent implements MouseListener, MouseMotionListen
                                 && curY > 32 && curY < 48) {
                             switch (GAME.getMapId()) {
                                 case 0:
-                                    switch (dirTile.getKey()) {
+                                    switch (dirKey) {
                                         case 'A':
                                             GAME.startHeist();
                                             break;
                                     }
                                     break;
                                 case 7:
-                                    switch (dirTile.getKey()) {
+                                    switch (dirKey) {
                                         case 'C':
                                             GAME.getPlayer().study();
                                             GameAudio.playSfx(GameAudio.sfx_click);
@@ -567,7 +506,7 @@ class TileMapView extends JComponent implements MouseListener, MouseMotionListen
                                     }
                                     break;
                                 case 8:
-                                    switch (dirTile.getKey()) {
+                                    switch (dirKey) {
                                         case 'C':
                                             GAME.getPlayer().hack();
                                             break;
@@ -770,8 +709,8 @@ class TileMapView extends JComponent implements MouseListener, MouseMotionListen
             }
         } catch (NullPointerException e1) { /* Mouse is out of frame*/ }
 
-        if (click) { this.setCursor(new Cursor(Cursor.HAND_CURSOR)); }
-        else { this.setCursor(new Cursor(Cursor.DEFAULT_CURSOR)); }
+        if (click) { e.getComponent().setCursor(new Cursor(Cursor.HAND_CURSOR)); }
+        else { e.getComponent().setCursor(new Cursor(Cursor.DEFAULT_CURSOR)); }
     }
 
     public Dimension getPreferredSize() { return new Dimension(Game.getWidth(), Game.getHeight()); }
@@ -0,0 +1,29 @@
+package objects;
+
+/**
+ * Stores where a DoorTile leads: the map it opens into and the co-ordinate the Player arrives at.
+ */
+public class DoorTarget {
+    private final int mapId;
+    private final int x;
+    private final int y;
+
+    /**
+     * Class constructor.
+     *
+     * @param mapId the identifier of the map the door leads to
+     * @param x the x co-ordinate the Player arrives at
+     * @param y the y co-ordinate the Player arrives at
+     */
+    public DoorTarget(int mapId, int x, int y) {
+        this.mapId = mapId;
+        this.x = x;
+        this.y = y;
+    }
+
+    public int getMapId() { return mapId; }
+
+    public int getX() { return x; }
+
+    public int getY() { return y; }
+}
@@ -1,24 +1,31 @@
 package objects;
 
 import controllers.Controller;
+import game.Constants;
 import game.Emotion;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.util.Arrays;
 import java.util.List;
 
+import static game.Game.GAME;
+
 /**
  * Has common methods and fields for different types of GameObjects.
  */
 public abstract class GameObject {
     private static final char KEY = '*';
+    private static final double EPSILON = 1e-6;
     private static boolean inPlay;
 
     private int x;
     private int y;
     private int gX;
     private int gY;
+    private double exactGX;
+    private double exactGY;
+    private int prevGX;
+    private int prevGY;
     private boolean moving;
     private boolean up;
     private boolean down;
@@ -30,12 +37,12 @@ public abstract class GameObject {
     private Controller ctrl;
     private Emotion emotion;
 
-    private List<BufferedImage> upSprites1;
-    private List<BufferedImage> upSprites2;
-    private List<BufferedImage> downSprites1;
-    private List<BufferedImage> downSprites2;
-    private List<BufferedImage> leftSprites;
-    private List<BufferedImage> rightSprites;
+    private List<Tile> upSprites1;
+    private List<Tile> upSprites2;
+    private List<Tile> downSprites1;
+    private List<Tile> downSprites2;
+    private List<Tile> leftSprites;
+    private List<Tile> rightSprites;
 
     /**
      * Class constructor.
@@ -48,8 +55,9 @@ public abstract class GameObject {
         this.tile = new Tile(tile);
         this.x = x;
         this.y = y;
-        gX = x * 32;
-        gY = y * 32;
+        setGX(x * 32);
+        setGY(y * 32);
+        snapPosition();
         moving = false;
     }
 
@@ -65,10 +73,29 @@ public abstract class GameObject {
     void setY(int y) { this.y = y; }
 
     public int getGX() { return gX; }
-    void setGX(int gX) { this.gX = gX; }
+    void setGX(int gX) {
+        this.gX = gX;
+        exactGX = gX;
+    }
 
     public int getGY() { return gY; }
-    void setGY(int gY) { this.gY = gY; }
+    void setGY(int gY) {
+        this.gY = gY;
+        exactGY = gY;
+    }
+
+    public int getPrevGX() { return prevGX; }
+
+    public int getPrevGY() { return prevGY; }
+
+    /**
+     * Stores the current graphical co-ordinates as the start point for render interpolation.
+     * Called at the start of every tick, and whenever the GameObject jumps to a new location.
+     */
+    public void snapPosition() {
+        prevGX = gX;
+        prevGY = gY;
+    }
 
     boolean isNotMoving() { return !moving; }
     void setMoving(boolean moving) { this.moving = moving; }
@@ -98,28 +125,64 @@ public abstract class GameObject {
     Controller getCtrl() { return ctrl; }
     void setCtrl(Controller ctrl) { this.ctrl = ctrl; }
 
-    Emotion getEmotion() { return emotion; }
+    public Emotion getEmotion() { return emotion; }
     public void setEmotion(Emotion emotion) { this.emotion = emotion; }
 
-    BufferedImage getUpSprite() { return upSprites1.get(0); }
-    void setUpSprites1(List<Tile> tiles) { upSprites1 = Arrays.asList(tiles.get(5).getImg(), tiles.get(6).getImg(),
-            tiles.get(6).getImg(), tiles.get(5).getImg()); }
-    void setUpSprites2(List<Tile> tiles) { upSprites2 = Arrays.asList(tiles.get(5).getImg(), tiles.get(7).getImg(),
-            tiles.get(7).getImg(), tiles.get(5).getImg()); }
+    Tile getUpSprite() { return upSprites1.get(0); }
+    void setUpSprites1(List<Tile> tiles) { upSprites1 = Arrays.asList(tiles.get(5), tiles.get(6), tiles.get(6),
+            tiles.get(5)); }
+    void setUpSprites2(List<Tile> tiles) { upSprites2 = Arrays.asList(tiles.get(5), tiles.get(7), tiles.get(7),
+            tiles.get(5)); }
 
-    BufferedImage getDownSprite() { return downSprites1.get(0); }
-    void setDownSprites1(List<Tile> tiles) { downSprites1 = Arrays.asList(tiles.get(0).getImg(),
-            tiles.get(1).getImg()); }
-    void setDownSprites2(List<Tile> tiles) { downSprites2 = Arrays.asList(tiles.get(0).getImg(),
-            tiles.get(2).getImg()); }
+    Tile getDownSprite() { return downSprites1.get(0); }
+    void setDownSprites1(List<Tile> tiles) { downSprites1 = Arrays.asList(tiles.get(0), tiles.get(1)); }
+    void setDownSprites2(List<Tile> tiles) { downSprites2 = Arrays.asList(tiles.get(0), tiles.get(2)); }
 
-    BufferedImage getLeftSprite() { return leftSprites.get(0); }
-    void setLeftSprites(List<Tile> tiles) { leftSprites = Arrays.asList(tiles.get(8).getImg(),
-            tiles.get(9).getImg(), tiles.get(9).getImg(), tiles.get(8).getImg()); }
+    Tile getLeftSprite() { return leftSprites.get(0); }
+    void setLeftSprites(List<Tile> tiles) { leftSprites = Arrays.asList(tiles.get(8), tiles.get(9), tiles.get(9),
+            tiles.get(8)); }
 
-    BufferedImage getRightSprite() { return rightSprites.get(0); }
-    void setRightSprites(List<Tile> tiles) { rightSprites = Arrays.asList(tiles.get(3).getImg(),
-            tiles.get(4).getImg()); }
+    Tile getRightSprite() { return rightSprites.get(0); }
+    void setRightSprites(List<Tile> tiles) { rightSprites = Arrays.asList(tiles.get(3), tiles.get(4)); }
+
+    /**
+     * Walks towards the next tile boundary at the walking speed.
+     * The distance covered depends on the length of a tick rather than the tick count, and the position is kept to
+     * sub-pixel precision, so the speed is the same at any tick rate.
+     *
+     * @param direction the direction to walk in
+     * @return whether or not the tile boundary has been reached
+     */
+    boolean walk(int direction) {
+        double distance = Constants.WALK_SPEED * 32 * GAME.getTickSeconds();
+        double target;
+        switch (direction) {
+            case 0:
+                target = (Math.ceil(exactGY / 32) - 1) * 32;
+                exactGY = approach(exactGY, target, distance);
+                gY = (int) Math.round(exactGY);
+                return exactGY == target;
+            case 1:
+                target = (Math.floor(exactGY / 32) + 1) * 32;
+                exactGY = approach(exactGY, target, distance);
+                gY = (int) Math.round(exactGY);
+                return exactGY == target;
+            case 2:
+                target = (Math.ceil(exactGX / 32) - 1) * 32;
+                exactGX = approach(exactGX, target, distance);
+                gX = (int) Math.round(exactGX);
+                return exactGX == target;
+            default:
+                target = (Math.floor(exactGX / 32) + 1) * 32;
+                exactGX = approach(exactGX, target, distance);
+                gX = (int) Math.round(exactGX);
+                return exactGX == target;
+        }
+    }
+
+    private static double approach(double from, double to, double distance) {
+        return Math.abs(to - from) <= distance + EPSILON ? to : from + Math.signum(to - from) * distance;
+    }
 
     /**
      * Changes the GameObject's tile image for a walking animation.
@@ -157,5 +220,4 @@ public abstract class GameObject {
     public abstract void move();
     public abstract void rotate(int direction);
     public abstract void update() throws NullPointerException;
-    public abstract void paintComponent(Graphics g);
 }
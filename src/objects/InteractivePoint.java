@@ -0,0 +1,32 @@
+package objects;
+
+import utilities.FileReader;
+import utilities.TextBox;
+
+/**
+ * Stores what an interactive point shows: the type of TextBox and the index of its interactive string.
+ */
+public class InteractivePoint {
+    private final int textBoxId;
+    private final int stringIndex;
+
+    /**
+     * Class constructor.
+     *
+     * @param textBoxId the identification number of the TextBox to be created
+     * @param stringIndex the index of the TextBox's text in the interactive strings
+     */
+    public InteractivePoint(int textBoxId, int stringIndex) {
+        this.textBoxId = textBoxId;
+        this.stringIndex = stringIndex;
+    }
+
+    public int getTextBoxId() { return textBoxId; }
+
+    public int getStringIndex() { return stringIndex; }
+
+    /**
+     * @return a new TextBox showing the point's text
+     */
+    public TextBox createTextBox() { return new TextBox(textBoxId, FileReader.getInteractiveString(stringIndex)); }
+}
@@ -1,11 +1,8 @@
 package objects;
 
-import utilities.FileReader;
-import utilities.TextBox;
+import utilities.IntKeyMap;
 
-import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 /**
  * Stores each of the game map's interactive points.
@@ -32,130 +29,130 @@ public class InteractiveTile extends Tile {
      * Initialises the co-ordinates of a map's interactive points.
      *
      * @param mapID the identifier of the map
-     * @return the map of interactive points
+     * @return the map of interactive points, keyed by IntKeyMap.key
      */
-    public static HashMap<Point, TextBox> initialisePoints(int mapID) {
-        HashMap<Point, TextBox> points = new HashMap<>();
+    public static IntKeyMap<InteractivePoint> initialisePoints(int mapID) {
+        IntKeyMap<InteractivePoint> points = new IntKeyMap<>();
 
         switch (mapID) {
             /* School Hall G */
             case 0:
-                points.put(new Point(11, 1), new TextBox(0, FileReader.getInteractiveString(3)));
-                points.put(new Point(4, 5), new TextBox(0, FileReader.getInteractiveString(4)));
-                points.put(new Point(7, 5), new TextBox(0, FileReader.getInteractiveString(5)));
-                points.put(new Point(18, 5), new TextBox(0, FileReader.getInteractiveString(6)));
-                points.put(new Point(6, 17), new TextBox(0, FileReader.getInteractiveString(7)));
-                points.put(new Point(16, 17), new TextBox(0, FileReader.getInteractiveString(7)));
+                points.put(IntKeyMap.key(11, 1), new InteractivePoint(0, 3));
+                points.put(IntKeyMap.key(4, 5), new InteractivePoint(0, 4));
+                points.put(IntKeyMap.key(7, 5), new InteractivePoint(0, 5));
+                points.put(IntKeyMap.key(18, 5), new InteractivePoint(0, 6));
+                points.put(IntKeyMap.key(6, 17), new InteractivePoint(0, 7));
+                points.put(IntKeyMap.key(16, 17), new InteractivePoint(0, 7));
                 break;
             /* School Hall 1F */
             case 1:
-                points.put(new Point(11, 1), new TextBox(0, FileReader.getInteractiveString(8)));
-                points.put(new Point(2, 1), new TextBox(0, FileReader.getInteractiveString(9)));
-                points.put(new Point(3, 1), new TextBox(0, FileReader.getInteractiveString(9)));
-                points.put(new Point(4, 1), new TextBox(0, FileReader.getInteractiveString(9)));
-                points.put(new Point(5, 1), new TextBox(0, FileReader.getInteractiveString(9)));
-                points.put(new Point(14, 1), new TextBox(0, FileReader.getInteractiveString(9)));
-                points.put(new Point(15, 1), new TextBox(0, FileReader.getInteractiveString(9)));
-                points.put(new Point(16, 1), new TextBox(0, FileReader.getInteractiveString(9)));
-                points.put(new Point(17, 1), new TextBox(0, FileReader.getInteractiveString(9)));
-                points.put(new Point(5, 10), new TextBox(0, FileReader.getInteractiveString(10)));
-                points.put(new Point(16, 10), new TextBox(0, FileReader.getInteractiveString(11)));
+                points.put(IntKeyMap.key(11, 1), new InteractivePoint(0, 8));
+                points.put(IntKeyMap.key(2, 1), new InteractivePoint(0, 9));
+                points.put(IntKeyMap.key(3, 1), new InteractivePoint(0, 9));
+                points.put(IntKeyMap.key(4, 1), new InteractivePoint(0, 9));
+                points.put(IntKeyMap.key(5, 1), new InteractivePoint(0, 9));
+                points.put(IntKeyMap.key(14, 1), new InteractivePoint(0, 9));
+                points.put(IntKeyMap.key(15, 1), new InteractivePoint(0, 9));
+                points.put(IntKeyMap.key(16, 1), new InteractivePoint(0, 9));
+                points.put(IntKeyMap.key(17, 1), new InteractivePoint(0, 9));
+                points.put(IntKeyMap.key(5, 10), new InteractivePoint(0, 10));
+                points.put(IntKeyMap.key(16, 10), new InteractivePoint(0, 11));
                 break;
             /* Design Tech Classroom */
             case 2:
-                points.put(new Point(2, 2), new TextBox(0, FileReader.getInteractiveString(12)));
-                points.put(new Point(3, 2), new TextBox(0, FileReader.getInteractiveString(12)));
-                points.put(new Point(2, 4), new TextBox(0, FileReader.getInteractiveString(13)));
-                points.put(new Point(3, 4), new TextBox(0, FileReader.getInteractiveString(13)));
-                points.put(new Point(2, 5), new TextBox(0, FileReader.getInteractiveString(13)));
-                points.put(new Point(3, 5), new TextBox(0, FileReader.getInteractiveString(13)));
-                points.put(new Point(4, 7), new TextBox(0, FileReader.getInteractiveString(13)));
-                points.put(new Point(5, 7), new TextBox(0, FileReader.getInteractiveString(13)));
-                points.put(new Point(4, 8), new TextBox(0, FileReader.getInteractiveString(13)));
-                points.put(new Point(5, 8), new TextBox(0, FileReader.getInteractiveString(13)));
-                points.put(new Point(10, 1), new TextBox(6, FileReader.getInteractiveString(1)));
-                points.put(new Point(11, 1), new TextBox(6, FileReader.getInteractiveString(1)));
-                points.put(new Point(12, 1), new TextBox(6, FileReader.getInteractiveString(1)));
-                points.put(new Point(15, 2), new TextBox(0, FileReader.getInteractiveString(14)));
-                points.put(new Point(16, 2), new TextBox(0, FileReader.getInteractiveString(14)));
+                points.put(IntKeyMap.key(2, 2), new InteractivePoint(0, 12));
+                points.put(IntKeyMap.key(3, 2), new InteractivePoint(0, 12));
+                points.put(IntKeyMap.key(2, 4), new InteractivePoint(0, 13));
+                points.put(IntKeyMap.key(3, 4), new InteractivePoint(0, 13));
+                points.put(IntKeyMap.key(2, 5), new InteractivePoint(0, 13));
+                points.put(IntKeyMap.key(3, 5), new InteractivePoint(0, 13));
+                points.put(IntKeyMap.key(4, 7), new InteractivePoint(0, 13));
+                points.put(IntKeyMap.key(5, 7), new InteractivePoint(0, 13));
+                points.put(IntKeyMap.key(4, 8), new InteractivePoint(0, 13));
+                points.put(IntKeyMap.key(5, 8), new InteractivePoint(0, 13));
+                points.put(IntKeyMap.key(10, 1), new InteractivePoint(6, 1));
+                points.put(IntKeyMap.key(11, 1), new InteractivePoint(6, 1));
+                points.put(IntKeyMap.key(12, 1), new InteractivePoint(6, 1));
+                points.put(IntKeyMap.key(15, 2), new InteractivePoint(0, 14));
+                points.put(IntKeyMap.key(16, 2), new InteractivePoint(0, 14));
                 break;
             /* Food Tech Classroom */
             case 3:
-                points.put(new Point(1, 2), new TextBox(0, FileReader.getInteractiveString(15)));
-                points.put(new Point(2, 2), new TextBox(0, FileReader.getInteractiveString(15)));
-                points.put(new Point(5, 1), new TextBox(6, FileReader.getInteractiveString(1)));
-                points.put(new Point(6, 1), new TextBox(6, FileReader.getInteractiveString(1)));
-                points.put(new Point(7, 1), new TextBox(6, FileReader.getInteractiveString(1)));
-                points.put(new Point(14, 2), new TextBox(0, FileReader.getInteractiveString(16)));
-                points.put(new Point(15, 2), new TextBox(0, FileReader.getInteractiveString(16)));
-                points.put(new Point(12, 4), new TextBox(0, FileReader.getInteractiveString(17)));
-                points.put(new Point(15, 4), new TextBox(0, FileReader.getInteractiveString(17)));
-                points.put(new Point(12, 6), new TextBox(0, FileReader.getInteractiveString(17)));
-                points.put(new Point(15, 6), new TextBox(0, FileReader.getInteractiveString(17)));
-                points.put(new Point(12, 8), new TextBox(0, FileReader.getInteractiveString(17)));
-                points.put(new Point(15, 8), new TextBox(0, FileReader.getInteractiveString(17)));
-                points.put(new Point(13, 4), new TextBox(0, FileReader.getInteractiveString(18)));
-                points.put(new Point(14, 4), new TextBox(0, FileReader.getInteractiveString(18)));
-                points.put(new Point(13, 6), new TextBox(0, FileReader.getInteractiveString(18)));
-                points.put(new Point(14, 6), new TextBox(0, FileReader.getInteractiveString(18)));
-                points.put(new Point(13, 8), new TextBox(0, FileReader.getInteractiveString(18)));
-                points.put(new Point(14, 8), new TextBox(0, FileReader.getInteractiveString(18)));
+                points.put(IntKeyMap.key(1, 2), new InteractivePoint(0, 15));
+                points.put(IntKeyMap.key(2, 2), new InteractivePoint(0, 15));
+                points.put(IntKeyMap.key(5, 1), new InteractivePoint(6, 1));
+                points.put(IntKeyMap.key(6, 1), new InteractivePoint(6, 1));
+                points.put(IntKeyMap.key(7, 1), new InteractivePoint(6, 1));
+                points.put(IntKeyMap.key(14, 2), new InteractivePoint(0, 16));
+                points.put(IntKeyMap.key(15, 2), new InteractivePoint(0, 16));
+                points.put(IntKeyMap.key(12, 4), new InteractivePoint(0, 17));
+                points.put(IntKeyMap.key(15, 4), new InteractivePoint(0, 17));
+                points.put(IntKeyMap.key(12, 6), new InteractivePoint(0, 17));
+                points.put(IntKeyMap.key(15, 6), new InteractivePoint(0, 17));
+                points.put(IntKeyMap.key(12, 8), new InteractivePoint(0, 17));
+                points.put(IntKeyMap.key(15, 8), new InteractivePoint(0, 17));
+                points.put(IntKeyMap.key(13, 4), new InteractivePoint(0, 18));
+                points.put(IntKeyMap.key(14, 4), new InteractivePoint(0, 18));
+                points.put(IntKeyMap.key(13, 6), new InteractivePoint(0, 18));
+                points.put(IntKeyMap.key(14, 6), new InteractivePoint(0, 18));
+                points.put(IntKeyMap.key(13, 8), new InteractivePoint(0, 18));
+                points.put(IntKeyMap.key(14, 8), new InteractivePoint(0, 18));
                 break;
             /* 1F Classrooms */
             case 4:
-                points.put(new Point(1, 2), new TextBox(0, FileReader.getInteractiveString(19)));
-                points.put(new Point(2, 2), new TextBox(0, FileReader.getInteractiveString(19)));
-                points.put(new Point(6, 1), new TextBox(1, FileReader.getInteractiveString(38)));
-                points.put(new Point(7, 1), new TextBox(1, FileReader.getInteractiveString(0)));
-                points.put(new Point(8, 1), new TextBox(1, FileReader.getInteractiveString(0)));
-                points.put(new Point(5, 4), new TextBox(0, FileReader.getInteractiveString(20)));
-                points.put(new Point(5, 6), new TextBox(0, FileReader.getInteractiveString(20)));
-                points.put(new Point(13, 1), new TextBox(1, FileReader.getInteractiveString(0)));
-                points.put(new Point(14, 1), new TextBox(1, FileReader.getInteractiveString(0)));
-                points.put(new Point(15, 1), new TextBox(1, FileReader.getInteractiveString(0)));
-                points.put(new Point(19, 2), new TextBox(0, FileReader.getInteractiveString(21)));
-                points.put(new Point(20, 2), new TextBox(0, FileReader.getInteractiveString(21)));
-                points.put(new Point(12, 4), new TextBox(0, FileReader.getInteractiveString(22)));
-                points.put(new Point(13, 4), new TextBox(0, FileReader.getInteractiveString(22)));
-                points.put(new Point(14, 4), new TextBox(0, FileReader.getInteractiveString(22)));
-                points.put(new Point(15, 4), new TextBox(0, FileReader.getInteractiveString(22)));
-                points.put(new Point(16, 4), new TextBox(0, FileReader.getInteractiveString(22)));
-                points.put(new Point(17, 4), new TextBox(0, FileReader.getInteractiveString(22)));
-                points.put(new Point(12, 6), new TextBox(0, FileReader.getInteractiveString(22)));
-                points.put(new Point(13, 6), new TextBox(0, FileReader.getInteractiveString(22)));
-                points.put(new Point(14, 6), new TextBox(0, FileReader.getInteractiveString(22)));
-                points.put(new Point(15, 6), new TextBox(0, FileReader.getInteractiveString(22)));
-                points.put(new Point(16, 6), new TextBox(0, FileReader.getInteractiveString(22)));
-                points.put(new Point(17, 6), new TextBox(0, FileReader.getInteractiveString(22)));
+                points.put(IntKeyMap.key(1, 2), new InteractivePoint(0, 19));
+                points.put(IntKeyMap.key(2, 2), new InteractivePoint(0, 19));
+                points.put(IntKeyMap.key(6, 1), new InteractivePoint(1, 38));
+                points.put(IntKeyMap.key(7, 1), new InteractivePoint(1, 0));
+                points.put(IntKeyMap.key(8, 1), new InteractivePoint(1, 0));
+                points.put(IntKeyMap.key(5, 4), new InteractivePoint(0, 20));
+                points.put(IntKeyMap.key(5, 6), new InteractivePoint(0, 20));
+                points.put(IntKeyMap.key(13, 1), new InteractivePoint(1, 0));
+                points.put(IntKeyMap.key(14, 1), new InteractivePoint(1, 0));
+                points.put(IntKeyMap.key(15, 1), new InteractivePoint(1, 0));
+                points.put(IntKeyMap.key(19, 2), new InteractivePoint(0, 21));
+                points.put(IntKeyMap.key(20, 2), new InteractivePoint(0, 21));
+                points.put(IntKeyMap.key(12, 4), new InteractivePoint(0, 22));
+                points.put(IntKeyMap.key(13, 4), new InteractivePoint(0, 22));
+                points.put(IntKeyMap.key(14, 4), new InteractivePoint(0, 22));
+                points.put(IntKeyMap.key(15, 4), new InteractivePoint(0, 22));
+                points.put(IntKeyMap.key(16, 4), new InteractivePoint(0, 22));
+                points.put(IntKeyMap.key(17, 4), new InteractivePoint(0, 22));
+                points.put(IntKeyMap.key(12, 6), new InteractivePoint(0, 22));
+                points.put(IntKeyMap.key(13, 6), new InteractivePoint(0, 22));
+                points.put(IntKeyMap.key(14, 6), new InteractivePoint(0, 22));
+                points.put(IntKeyMap.key(15, 6), new InteractivePoint(0, 22));
+                points.put(IntKeyMap.key(16, 6), new InteractivePoint(0, 22));
+                points.put(IntKeyMap.key(17, 6), new InteractivePoint(0, 22));
                 break;
             /* Canteen */
             case 5:
                 break;
             /* Yard */
             case 6:
-                points.put(new Point(26, 22), new TextBox(7, FileReader.getInteractiveString(2)));
+                points.put(IntKeyMap.key(26, 22), new InteractivePoint(7, 2));
                 break;
             /* Bedroom */
             case 7:
-                points.put(new Point(1, 2), new TextBox(3, FileReader.getInteractiveString(23)));
-                points.put(new Point(3, 3), new TextBox(3, FileReader.getInteractiveString(24)));
-                points.put(new Point(1, 4), new TextBox(3, FileReader.getInteractiveString(25)));
-                points.put(new Point(1, 5), new TextBox(3, FileReader.getInteractiveString(25)));
-                points.put(new Point(4, 2), new TextBox(0, FileReader.getInteractiveString(26)));
-                points.put(new Point(6, 1), new TextBox(0, FileReader.getInteractiveString(27)));
+                points.put(IntKeyMap.key(1, 2), new InteractivePoint(3, 23));
+                points.put(IntKeyMap.key(3, 3), new InteractivePoint(3, 24));
+                points.put(IntKeyMap.key(1, 4), new InteractivePoint(3, 25));
+                points.put(IntKeyMap.key(1, 5), new InteractivePoint(3, 25));
+                points.put(IntKeyMap.key(4, 2), new InteractivePoint(0, 26));
+                points.put(IntKeyMap.key(6, 1), new InteractivePoint(0, 27));
                 break;
             /* Staffroom */
             case 8:
-                points.put(new Point(5, 1), new TextBox(0, FileReader.getInteractiveString(28)));
-                points.put(new Point(6, 2), new TextBox(3, FileReader.getInteractiveString(29)));
-                points.put(new Point(13, 8), new TextBox(0, FileReader.getInteractiveString(30)));
-                points.put(new Point(1, 2), new TextBox(0, FileReader.getInteractiveString(31)));
-                points.put(new Point(2, 2), new TextBox(0, FileReader.getInteractiveString(31)));
-                points.put(new Point(14, 8), new TextBox(0, FileReader.getInteractiveString(31)));
-                points.put(new Point(7, 13), new TextBox(0, FileReader.getInteractiveString(32)));
-                points.put(new Point(5, 13), new TextBox(0, FileReader.getInteractiveString(33)));
-                points.put(new Point(6, 13), new TextBox(0, FileReader.getInteractiveString(34)));
-                points.put(new Point(2, 7), new TextBox(0, FileReader.getInteractiveString(35)));
+                points.put(IntKeyMap.key(5, 1), new InteractivePoint(0, 28));
+                points.put(IntKeyMap.key(6, 2), new InteractivePoint(3, 29));
+                points.put(IntKeyMap.key(13, 8), new InteractivePoint(0, 30));
+                points.put(IntKeyMap.key(1, 2), new InteractivePoint(0, 31));
+                points.put(IntKeyMap.key(2, 2), new InteractivePoint(0, 31));
+                points.put(IntKeyMap.key(14, 8), new InteractivePoint(0, 31));
+                points.put(IntKeyMap.key(7, 13), new InteractivePoint(0, 32));
+                points.put(IntKeyMap.key(5, 13), new InteractivePoint(0, 33));
+                points.put(IntKeyMap.key(6, 13), new InteractivePoint(0, 34));
+                points.put(IntKeyMap.key(2, 7), new InteractivePoint(0, 35));
         }
         return points;
     }
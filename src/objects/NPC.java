@@ -18,12 +18,16 @@ import static game.Game.GAME;
  * Handles actions available to NPC GameObjects.
  */
 public class NPC extends GameObject{
+    /* Furthest distance in tiles at which a hostile NPC sees the Player */
+    private static final int SIGHT_RANGE = 7;
+
     private int id;
     private int defaultDirection;
     private int defaultX;
     private int defaultY;
     private boolean hostile;
     private String name;
+    private NPCSpawn spawn;
 
     private static TreeMap<Integer, List<Tile>> tiles = new TreeMap<>();
     private static TreeMap<Integer, String[]> text = new TreeMap<>();
@@ -82,6 +86,7 @@ public class NPC extends GameObject{
         setSprites(id);
         this.hostile = hostile;
         this.setCtrl(ctrl);
+        spawn = new NPCSpawn(x, y, id, -1, direction, hostile, ctrl);
         if (ctrl instanceof Patrol) { ((Patrol) ctrl).setObject(this); }
         setFlip(true);
     }
@@ -107,6 +112,7 @@ public class NPC extends GameObject{
         setSprites(id);
         this.hostile = hostile;
         this.setCtrl(ctrl);
+        spawn = new NPCSpawn(x, y, id, subId, direction, hostile, ctrl);
         if (ctrl instanceof Patrol) { ((Patrol) ctrl).setObject(this); }
         setFlip(true);
     }
@@ -116,6 +122,11 @@ public class NPC extends GameObject{
 
     public String getName() { return name; }
 
+    /**
+     * @return where and how the NPC started, as it was constructed
+     */
+    public NPCSpawn getSpawn() { return spawn; }
+
     private void setSprites(int id) {
         setUpSprites1(tiles.get(id));
         setUpSprites2(tiles.get(id));
@@ -389,20 +400,20 @@ public class NPC extends GameObject{
         int i;
         if (isUp()) {
             if (getY() * 32 == getGY()) { setY(getY() - 1); }
-            setGY(getGY() - 8);
+            boolean arrived = walk(0);
             i = (getGY() % 32) / 8;
             walkAnimation(0, i);
-            if (getGY() % 32 == 0) {
+            if (arrived) {
                 setUp(false);
                 setFlip(isNotFlip());
             }
         }
         if (isDown()) {
             if (getY() * 32 == getGY()) { setY(getY() + 1); }
-            setGY(getGY() + 8);
+            boolean arrived = walk(1);
             i = (getGY() % 32) / 16;
             walkAnimation(1, i);
-            if (getGY() % 32 == 0) {
+            if (arrived) {
                 setDown(false);
                 setFlip(isNotFlip());
 
@@ -410,19 +421,19 @@ public class NPC extends GameObject{
         }
         if (isLeft()) {
             if (getX() * 32 == getGX()) { setX(getX() - 1); }
-            setGX(getGX() - 8);
+            boolean arrived = walk(2);
             i = (getGX() % 32) / 8;
             walkAnimation(2, i);
-            if (getGX() % 32 == 0) {
+            if (arrived) {
                 setLeft(false);
             }
         }
         if (isRight()) {
             if (getX() * 32 == getGX()) { setX(getX() + 1); }
-            setGX(getGX() + 8);
+            boolean arrived = walk(3);
             i = (getGX() % 32)/16;
             walkAnimation(3, i);
-            if (getGX() % 32 == 0) {
+            if (arrived) {
                 setRight(false);
             }
         }
@@ -474,6 +485,7 @@ public class NPC extends GameObject{
         setY(defaultY);
         this.setGX(getX() * 32);
         this.setGY(getY() * 32);
+        snapPosition();
         switch (defaultDirection) {
             case 0:
                 getTile().setImg(getDownSprite());
@@ -493,73 +505,33 @@ public class NPC extends GameObject{
 
     /**
      * Raycasts in the NPCs direct until the player or a collision is spotted.
+     * The object index is asked first whether the Player is near enough to be seen at all and whether it is the
+     * closest GameObject in that direction, so other GameObjects block the NPC's view as well as collision tiles.
+     * The tiles in between are only scanned when the Player could be spotted.
      *
      * @param direction the NPC's direction
      */
     private void lookForPlayer(int direction) {
-        boolean clearPath = false;
+        Player player = GAME.getPlayer();
+        if (!GAME.isObjectWithin(player, getX(), getY(), SIGHT_RANGE) ||
+                GAME.getNearestObject(getX(), getY(), direction, SIGHT_RANGE) != player) { return; }
+        int distance = Math.abs(player.getX() - getX()) + Math.abs(player.getY() - getY());
+        boolean clearPath = true;
         switch (direction) {
             case 0:
-                if (getY() - 1 == GAME.getPlayer().getY() && getX() == GAME.getPlayer().getX()) {
-                    spottedPlayer();
-                    return;
-                }
-                else {
-                    for (int i = getY() - 1; i > GAME.getPlayer().getY(); i--) {
-                        if (GAME.isCollideTile(GAME.getTileFromMatrix(i, getX()))) { break; }
-                        if (i == GAME.getPlayer().getY() + 1) { clearPath = true; }
-                    }
-                }
-                if (clearPath && GAME.getPlayer().getX() == getX() && Math.abs(getY() - GAME.getPlayer().getY()) < 8) {
-                    spottedPlayer();
-                }
+                clearPath = GAME.firstBlockedInColumn(getX(), getY() - 1, getY() - distance + 1, false) < 0;
                 break;
             case 1:
-                if (getY() + 1 == GAME.getPlayer().getY() && getX() == GAME.getPlayer().getX()) {
-                    spottedPlayer();
-                    return;
-                }
-                else {
-                    for (int i = getY() + 1; i < GAME.getPlayer().getY(); i++) {
-                        if (GAME.isCollideTile(GAME.getTileFromMatrix(i, getX()))) { break; }
-                        if (i == GAME.getPlayer().getY() - 1) { clearPath = true; }
-                    }
-                }
-                if (clearPath && GAME.getPlayer().getX() == getX() && Math.abs(getY() - GAME.getPlayer().getY()) < 8) {
-                    spottedPlayer();
-                }
+                clearPath = GAME.firstBlockedInColumn(getX(), getY() + 1, getY() + distance - 1, false) < 0;
                 break;
             case 2:
-                if (getX() - 1 == GAME.getPlayer().getX() && getY() == GAME.getPlayer().getY()) {
-                    spottedPlayer();
-                    return;
-                }
-                else {
-                    for (int i = getX() - 1; i > GAME.getPlayer().getX(); i--) {
-                        if (GAME.isCollideTile(GAME.getTileFromMatrix(getY(), i))) { break; }
-                        if (i == GAME.getPlayer().getX() + 1) { clearPath = true; }
-                    }
-                }
-                if (clearPath && GAME.getPlayer().getY() == getY() && Math.abs(getX() - GAME.getPlayer().getX()) < 8) {
-                    spottedPlayer();
-                }
+                clearPath = GAME.firstBlockedInRow(getY(), getX() - 1, getX() - distance + 1, false) < 0;
                 break;
             case 3:
-                if (getX() + 1 == GAME.getPlayer().getX() && getY() == GAME.getPlayer().getY()) {
-                    spottedPlayer();
-                    return;
-                }
-                else {
-                    for (int i = getX() + 1; i < GAME.getPlayer().getX(); i++) {
-                        if (GAME.isCollideTile(GAME.getTileFromMatrix(getY(), i))) { break; }
-                        if (i == GAME.getPlayer().getX() - 1) { clearPath = true; }
-                    }
-                }
-                if (clearPath && GAME.getPlayer().getY() == getY() && Math.abs(getX() - GAME.getPlayer().getX()) < 8) {
-                    spottedPlayer();
-                }
+                clearPath = GAME.firstBlockedInRow(getY(), getX() + 1, getX() + distance - 1, false) < 0;
                 break;
         }
+        if (distance == 1 || clearPath) { spottedPlayer(); }
     }
 
     /**
@@ -577,60 +549,69 @@ public class NPC extends GameObject{
      * Moves the NPC to in front of the player.
      */
     private void walkToPlayer() {
-        if (getY() < GAME.getPlayer().getY() - 1) { setDown(true); }
-        else if (getY() > GAME.getPlayer().getY() + 1) { setUp(true); }
-        else if (getX() < GAME.getPlayer().getX() - 1) { setRight(true); }
-        else if (getX() > GAME.getPlayer().getX() + 1) { setLeft(true); }
+        if (!GAME.isObjectWithin(GAME.getPlayer(), getX(), getY(), 1)) {
+            if (getY() < GAME.getPlayer().getY() - 1) { setDown(true); }
+            else if (getY() > GAME.getPlayer().getY() + 1) { setUp(true); }
+            else if (getX() < GAME.getPlayer().getX() - 1) { setRight(true); }
+            else if (getX() > GAME.getPlayer().getX() + 1) { setLeft(true); }
+        }
         move();
     }
 
     /**
      * Colours the raycasted tiles a shade of red.
-     * Used as a visual aid.
+     * Used as a visual aid. It is run at the end of the tick, so the marks match where every GameObject ends up. The ray stops at the first collision or door tile, and after the first GameObject, as
+     * lookForPlayer can't see past either.
      *
      * @param direction the NPC's direction
      */
     private void colourTiles(int direction) {
+        GameObject seen = GAME.getNearestObject(getX(), getY(), direction, SIGHT_RANGE);
+        int range = seen == null ? SIGHT_RANGE : Math.abs(seen.getX() - getX()) + Math.abs(seen.getY() - getY());
         switch (direction) {
             case 0:
-                for (int i = getY() - 1; i > getY() - 8; i--) {
-                    try {
-                        if (GAME.isCollideTile(GAME.getTileFromMatrix(i, getX())) ||
-                                GAME.isDoorTile(GAME.getTileFromMatrix(i, getX()))) { break; }
-                        GAME.setBadTile(i, getX());
-                    } catch (NullPointerException e) { /* Do nothing */ }
-                }
+                colourColumn(getY() - 1, Math.max(getY() - range, 0));
                 break;
             case 1:
-                for (int i = getY() + 1; i < getY() + 8; i++) {
-                    try {
-                        if (GAME.isCollideTile(GAME.getTileFromMatrix(i, getX())) ||
-                                GAME.isDoorTile(GAME.getTileFromMatrix(i, getX()))) { break; }
-                        GAME.setBadTile(i, getX());
-                    } catch (NullPointerException e) { /* Do nothing */ }
-                }
+                colourColumn(getY() + 1, Math.min(getY() + range, GAME.getMapMaxY()));
                 break;
             case 2:
-                for (int i = getX() - 1; i > getX() - 8; i--) {
-                    try {
-                        if (GAME.isCollideTile(GAME.getTileFromMatrix(getY(), i)) ||
-                                GAME.isDoorTile(GAME.getTileFromMatrix(getY(), i))) { break; }
-                        GAME.setBadTile(getY(), i);
-                    } catch (NullPointerException e) { /* Do nothing */ }
-                }
+                colourRow(getX() - 1, Math.max(getX() - range, 0));
                 break;
             case 3:
-                for (int i = getX() + 1; i < getX() + 8; i++) {
-                    try {
-                        if (GAME.isCollideTile(GAME.getTileFromMatrix(getY(), i)) ||
-                                GAME.isDoorTile(GAME.getTileFromMatrix(getY(), i))) { break; }
-                        GAME.setBadTile(getY(), i);
-                    } catch (NullPointerException e) { /* Do nothing */ }
-                }
+                colourRow(getX() + 1, Math.min(getX() + range, GAME.getMapMaxX()));
                 break;
         }
     }
 
+    /**
+     * Colours the tiles in the NPC's column from one row towards another, stopping at a collision or door tile.
+     *
+     * @param from the first row to colour
+     * @param to the last row to colour (inclusive)
+     */
+    private void colourColumn(int from, int to) {
+        if (from < 0 || from > GAME.getMapMaxY()) { return; }
+        int step = from <= to ? 1 : -1;
+        int blocked = GAME.firstBlockedInColumn(getX(), from, to, true);
+        int end = blocked < 0 ? to + step : blocked;
+        for (int i = from; i != end; i += step) { GAME.setBadTile(i, getX()); }
+    }
+
+    /**
+     * Colours the tiles in the NPC's row from one column towards another, stopping at a collision or door tile.
+     *
+     * @param from the first column to colour
+     * @param to the last column to colour (inclusive)
+     */
+    private void colourRow(int from, int to) {
+        if (from < 0 || from > GAME.getMapMaxX()) { return; }
+        int step = from <= to ? 1 : -1;
+        int blocked = GAME.firstBlockedInRow(getY(), from, to, true);
+        int end = blocked < 0 ? to + step : blocked;
+        for (int i = from; i != end; i += step) { GAME.setBadTile(getY(), i); }
+    }
+
     /**
      * Determines what actions the NPC is doing.
      */
@@ -643,28 +624,21 @@ public class NPC extends GameObject{
             rotate(action.getDirection());
             if (isNotMoving() && action.isMoving()) {
                 if (action.getDirection() == 0 && getY() > 0 &&
-                        GAME.isObjectNull(getY() - 1, getX()) &&
-                        !GAME.isCollideTile(GAME.getTileFromMatrix(getY() - 1, getX())) &&
-                        !(GAME.isDoorTile(GAME.getTileFromMatrix(getY() - 1, getX())))){ setUp(true); }
+                        GAME.isFreeCell(getY() - 1, getX(), true)) { setUp(true); }
 
                 if (action.getDirection() == 1 && getY() < GAME.getMapMaxY() &&
-                        GAME.isObjectNull(getY() + 1, getX()) &&
-                        !GAME.isCollideTile(GAME.getTileFromMatrix(getY() + 1, getX())) &&
-                        !(GAME.isDoorTile(GAME.getTileFromMatrix(getY() + 1, getX())))){ setDown(true); }
+                        GAME.isFreeCell(getY() + 1, getX(), true)) { setDown(true); }
 
                 if (action.getDirection() == 2 && getX() > 0 &&
-                        GAME.isObjectNull(getY(), getX() - 1) &&
-                        !GAME.isCollideTile(GAME.getTileFromMatrix(getY(), getX() - 1)) &&
-                        !(GAME.isDoorTile(GAME.getTileFromMatrix(getY(), getX() - 1)))){ setLeft(true); }
+                        GAME.isFreeCell(getY(), getX() - 1, true)) { setLeft(true); }
 
                 if (action.getDirection() == 3 && getX() < GAME.getMapMaxX() &&
-                        GAME.isObjectNull(getY(), getX() + 1) &&
-                        !GAME.isCollideTile(GAME.getTileFromMatrix(getY(), getX() + 1)) &&
-                        !(GAME.isDoorTile(GAME.getTileFromMatrix(getY(), getX() + 1)))){ setRight(true); }
+                        GAME.isFreeCell(getY(), getX() + 1, true)) { setRight(true); }
             }
             if (hostile) {
-                lookForPlayer(action.getDirection());
-                colourTiles(action.getDirection());
+                int direction = action.getDirection();
+                lookForPlayer(direction);
+                GAME.runAtEndOfTick(() -> colourTiles(direction));
             }
             move();
         }
@@ -675,19 +649,19 @@ public class NPC extends GameObject{
             switch (defaultDirection) {
                 case 0:
                     lookForPlayer(1);
-                    colourTiles(1);
+                    GAME.runAtEndOfTick(() -> colourTiles(1));
                     break;
                 case 3:
                     lookForPlayer(3);
-                    colourTiles(3);
+                    GAME.runAtEndOfTick(() -> colourTiles(3));
                     break;
                 case 5:
                     lookForPlayer(0);
-                    colourTiles(0);
+                    GAME.runAtEndOfTick(() -> colourTiles(0));
                     break;
                 case 8:
                     lookForPlayer(2);
-                    colourTiles(2);
+                    GAME.runAtEndOfTick(() -> colourTiles(2));
                     break;
             }
         }
@@ -702,10 +676,4 @@ public class NPC extends GameObject{
             }
         }
     }
-
-    public void paintComponent(Graphics g) {
-        g.drawImage(getTile().getImg(), getGX() - GAME.getCamera().getGX(),getGY() - GAME.getCamera().getGY(),
-                32, 32, null);
-        if (getEmotion() != null) { getEmotion().paintComponent(g, this); }
-    }
 }
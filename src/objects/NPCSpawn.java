@@ -0,0 +1,102 @@
+package objects;
+
+import controllers.Controller;
+import controllers.Patrol;
+import controllers.RandomMovement;
+
+import java.awt.*;
+
+/**
+ * Stores where and how an NPC starts: its co-ordinate, identity, direction, hostility and steering behaviour.
+ * A spawn holds no state from play, so it can be written into a compiled map and turned back into a new NPC.
+ */
+public class NPCSpawn {
+    public static final int STILL = 0;
+    public static final int WANDER = 1;
+    public static final int WANDER_STOPPING = 2;
+    public static final int PATROL = 3;
+
+    private final int x;
+    private final int y;
+    private final int id;
+    private final int subId;
+    private final int direction;
+    private final boolean hostile;
+    private final int controller;
+    private final Point[] patrol;
+
+    /**
+     * Class constructor.
+     *
+     * @param x the starting x co-ordinate
+     * @param y the starting y co-ordinate
+     * @param id the identifier of the NPC, or of its type for generic NPCs
+     * @param subId the sub-identifier within the type for generic NPCs, or -1 for unique NPCs
+     * @param direction the starting direction
+     * @param hostile whether or not the NPC is hostile
+     * @param controller the steering behaviour (STILL, WANDER, WANDER_STOPPING or PATROL)
+     * @param patrol the co-ordinates a PATROL NPC goes to, otherwise empty
+     */
+    public NPCSpawn(int x, int y, int id, int subId, int direction, boolean hostile, int controller, Point[] patrol) {
+        this.x = x;
+        this.y = y;
+        this.id = id;
+        this.subId = subId;
+        this.direction = direction;
+        this.hostile = hostile;
+        this.controller = controller;
+        this.patrol = patrol;
+    }
+
+    /**
+     * Class constructor.
+     * Works out the steering behaviour from an NPC's controller.
+     *
+     * @param x the starting x co-ordinate
+     * @param y the starting y co-ordinate
+     * @param id the identifier of the NPC, or of its type for generic NPCs
+     * @param subId the sub-identifier within the type for generic NPCs, or -1 for unique NPCs
+     * @param direction the starting direction
+     * @param hostile whether or not the NPC is hostile
+     * @param ctrl the NPC controller (can be null)
+     */
+    NPCSpawn(int x, int y, int id, int subId, int direction, boolean hostile, Controller ctrl) {
+        this(x, y, id, subId, direction, hostile, controllerOf(ctrl),
+                ctrl instanceof Patrol ? ((Patrol) ctrl).getPoints() : new Point[0]);
+    }
+
+    private static int controllerOf(Controller ctrl) {
+        if (ctrl instanceof Patrol) { return PATROL; }
+        if (ctrl instanceof RandomMovement) { return ((RandomMovement) ctrl).isStop() ? WANDER_STOPPING : WANDER; }
+        return STILL;
+    }
+
+    public int getX() { return x; }
+    public int getY() { return y; }
+    public int getId() { return id; }
+    public int getSubId() { return subId; }
+    public int getDirection() { return direction; }
+    public boolean isHostile() { return hostile; }
+    public int getController() { return controller; }
+    public Point[] getPatrol() { return patrol.clone(); }
+
+    /**
+     * @return a new NPC at the spawn, with a new controller
+     */
+    public NPC createNPC() {
+        Controller ctrl = null;
+        switch (controller) {
+            case WANDER:
+                ctrl = new RandomMovement(false);
+                break;
+            case WANDER_STOPPING:
+                ctrl = new RandomMovement(true);
+                break;
+            case PATROL:
+                ctrl = new Patrol(patrol);
+                break;
+        }
+        if (subId < 0) { return new NPC(x, y, id, direction, hostile, ctrl); }
+        return new NPC(x, y, id, subId, direction, hostile, ctrl);
+    }
+}
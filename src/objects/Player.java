@@ -2,6 +2,7 @@ package objects;
 
 import controllers.Action;
 import controllers.Controller;
+import game.Constants;
 import game.Game;
 import game.TileMap;
 import lessons.LessonTypeC;
@@ -54,11 +55,12 @@ public class Player extends GameObject {
     public void move() {
         int i;
         if (isUp()) {
-            GAME.getCamera().setGY(GAME.getCamera().getGY() - 8);
-            setGY(getGY() - 8);
+            int from = getGY();
+            boolean arrived = walk(0);
+            GAME.getCamera().setGY(GAME.getCamera().getGY() + getGY() - from);
             i = (getGY() % 32) / 8;
             walkAnimation(0, i);
-            if (getGY() % 32 == 0 || GAME.isDoorTile(GAME.getTileFromMatrix(getY() - 1, getX()))) {
+            if (arrived || GAME.isDoorCell(getY() - 1, getX())) {
                 GAME.getCamera().setY(GAME.getCamera().getY() - 1);
                 setY(getY() - 1);
                 setUp(false);
@@ -67,11 +69,12 @@ public class Player extends GameObject {
             }
         }
         if (isDown()) {
-            GAME.getCamera().setGY(GAME.getCamera().getGY() + 8);
-            setGY(getGY() + 8);
+            int from = getGY();
+            boolean arrived = walk(1);
+            GAME.getCamera().setGY(GAME.getCamera().getGY() + getGY() - from);
             i = (getGY() % 32) / 16;
             walkAnimation(1, i);
-            if (getGY() % 32 == 0 || GAME.isDoorTile(GAME.getTileFromMatrix(getY() + 1, getX()))) {
+            if (arrived || GAME.isDoorCell(getY() + 1, getX())) {
                 GAME.getCamera().setY(GAME.getCamera().getY() + 1);
                 setY(getY() + 1);
                 setDown(false);
@@ -81,11 +84,12 @@ public class Player extends GameObject {
             }
         }
         if (isLeft()) {
-            GAME.getCamera().setGX(GAME.getCamera().getGX() - 8);
-            setGX(getGX() - 8);
+            int from = getGX();
+            boolean arrived = walk(2);
+            GAME.getCamera().setGX(GAME.getCamera().getGX() + getGX() - from);
             i = (getGX() % 32) / 8;
             walkAnimation(2, i);
-            if (getGX() % 32 == 0) {
+            if (arrived) {
                 GAME.getCamera().setX(GAME.getCamera().getX() - 1);
                 setX(getX() - 1);
                 setLeft(false);
@@ -93,11 +97,12 @@ public class Player extends GameObject {
             }
         }
         if (isRight()) {
-            GAME.getCamera().setGX(GAME.getCamera().getGX() + 8);
-            setGX(getGX() + 8);
+            int from = getGX();
+            boolean arrived = walk(3);
+            GAME.getCamera().setGX(GAME.getCamera().getGX() + getGX() - from);
             i = (getGX() % 32)/16;
             walkAnimation(3, i);
-            if (getGX() % 32 == 0) {
+            if (arrived) {
                 GAME.getCamera().setX(GAME.getCamera().getX() + 1);
                 setX(getX() + 1);
                 setRight(false);
@@ -178,20 +183,19 @@ public class Player extends GameObject {
 
     /**
      * Loads the map and sets the Player's location based on the DoorTile moved through.
+     * With instant doors the map is switched straight away, without fading through black.
      */
     private void transition() {
         if (GAME.hasQuestions() && GAME.getTime() == 11) { GAME.endHeist(0); }
-        GAME.doTransition();
+        if (!Constants.INSTANT_DOORS) { GAME.doTransition(); }
         GameAudio.playSfx(GameAudio.sfx_door);
 
-        Point doorPoint = TileMapLoader.tileMaps.get(GAME.getMapId()).getDoorPoint(new Point(getX(), getY())).getV();
-
         TileMap currentMap = TileMapLoader.tileMaps.get(GAME.getMapId());
+        DoorTarget door = currentMap.getDoorPoint(getX(), getY());
         currentMap.resetNPCs();
-        int nextId = currentMap.getDoorPoint(new Point(getX(), getY())).getK();
-        GAME.loadMap(TileMapLoader.tileMaps.get(nextId));
+        GAME.loadMap(TileMapLoader.tileMaps.get(door.getMapId()));
 
-        setLocation(doorPoint.x, doorPoint.y);
+        setLocation(door.getX(), door.getY());
         direction.setLocation(getX(), getY() - 1);
     }
 
@@ -204,6 +208,8 @@ public class Player extends GameObject {
         GAME.getCamera().setY(y - (Game.getHeight() / 64));
         GAME.getCamera().setGX(GAME.getCamera().getX() * 32);
         GAME.getCamera().setGY(GAME.getCamera().getY() * 32);
+        GAME.getCamera().snap();
+        snapPosition();
     }
 
     /**
@@ -330,20 +336,16 @@ public class Player extends GameObject {
         }
         if (isNotMoving() && isInPlay() && action.isMoving()) {
             if (action.getDirection() == 0 && getY() > 0 &&
-                    GAME.isObjectNull(getY() - 1, getX()) &&
-                    !GAME.isCollideTile(GAME.getTileFromMatrix(getY() - 1, getX()))) { setUp(true); }
+                    GAME.isFreeCell(getY() - 1, getX(), false)) { setUp(true); }
 
             if (action.getDirection() == 1 && getY() < GAME.getMapMaxY() &&
-                    GAME.isObjectNull(getY() + 1, getX()) &&
-                    !GAME.isCollideTile(GAME.getTileFromMatrix(getY() + 1, getX()))) { setDown(true); }
+                    GAME.isFreeCell(getY() + 1, getX(), false)) { setDown(true); }
 
             if (action.getDirection() == 2 && getX() > 0 &&
-                    GAME.isObjectNull(getY(), getX() - 1) &&
-                    !GAME.isCollideTile(GAME.getTileFromMatrix(getY(), getX() - 1))) { setLeft(true); }
+                    GAME.isFreeCell(getY(), getX() - 1, false)) { setLeft(true); }
 
             if (action.getDirection() == 3 && getX() < GAME.getMapMaxX() &&
-                    GAME.isObjectNull(getY(), getX() + 1) &&
-                    !GAME.isCollideTile(GAME.getTileFromMatrix(getY(), getX() + 1))) { setRight(true); }
+                    GAME.isFreeCell(getY(), getX() + 1, false)) { setRight(true); }
         }
         move();
         if (this.isNotMoving() && isInPlay()) {
@@ -352,9 +354,4 @@ public class Player extends GameObject {
         if (GAME.isDoorTile(GAME.getTileFromMatrix(getY(), getX()))) { door(); }
         if (getEmotion() != null) { displayEmotion(); }
     }
-
-    public void paintComponent(Graphics g) {
-        g.drawImage(getTile().getImg(), getGX() - GAME.getCamera().getGX(), getGY() - GAME.getCamera().getGY(),32, 32, null);
-        if (getEmotion() != null) { getEmotion().paintComponent(g, this); }
-    }
 }
@@ -1,6 +1,7 @@
 package objects;
 
-import java.awt.*;
+import utilities.TextureAtlas;
+
 import java.awt.image.BufferedImage;
 
 /**
@@ -11,6 +12,7 @@ public class Tile {
     private boolean collision;
 
     private BufferedImage img;
+    private int sprite;
 
     /**
      * Class constructor.
@@ -20,28 +22,42 @@ public class Tile {
      * @param key the key of the Tile (for when stored in a matrix)
      */
     public Tile(BufferedImage img, boolean collision, char key) {
-        this.img = img;
+        sprite = TextureAtlas.getHandle(img);
+        this.img = TextureAtlas.getImage(sprite);
         this.collision = collision;
         this.key = key;
     }
 
     /**
      * Class constructor.
-     * Creates a deep copy of the supplied Tile.
+     * Creates a copy of the supplied Tile. Tile images are never drawn on, so the copy shares the image.
      *
      * @param tile the Tile to copy
      */
     public Tile(Tile tile) {
-        img = new BufferedImage(tile.img.getWidth(), tile.img.getHeight(), tile.img.getType());
-        Graphics2D g = img.createGraphics();
-        g.drawImage(tile.img, 0, 0, null);
-        g.dispose();
+        img = tile.img;
+        sprite = tile.sprite;
         collision = tile.collision;
         key = tile.key;
     }
 
     public BufferedImage getImg() { return img; }
-    void setImg(BufferedImage img) { this.img = img; }
+
+    /**
+     * Shows another Tile's image on this Tile, e.g. for a walking animation.
+     * The other Tile's atlas handle was resolved when its tileset was read, so this takes no lock.
+     *
+     * @param tile the Tile whose image to show
+     */
+    void setImg(Tile tile) {
+        img = tile.img;
+        sprite = tile.sprite;
+    }
+
+    /**
+     * @return the handle of the Tile's image in the TextureAtlas
+     */
+    public int getSprite() { return sprite; }
 
     public boolean isCollision() { return collision; }
 
@@ -0,0 +1,84 @@
+package objects;
+
+import java.util.Arrays;
+
+/**
+ * Stores a map's Tiles in an array indexed directly by their keys.
+ * Each key also has a byte of flags, worked out when its Tile is put, so the collision, door and interaction checks
+ * made every tick are a single array load instead of a map lookup and a type check. Keys without a Tile have no
+ * flags.
+ * The version goes up whenever a Tile is put, so anything rendered from the table can tell when it is out of date.
+ */
+public class TileTable {
+    public static final byte COLLISION = 1;
+    public static final byte DOOR = 1 << 1;
+    public static final byte INTERACTIVE = 1 << 2;
+    public static final byte MENU = 1 << 3;
+
+    private static final int DEFAULT_SIZE = 128;
+
+    private Tile[] tiles;
+    private byte[] flags;
+    private int version;
+
+    /**
+     * Class constructor.
+     */
+    public TileTable() {
+        tiles = new Tile[DEFAULT_SIZE];
+        flags = new byte[DEFAULT_SIZE];
+    }
+
+    /**
+     * Class constructor.
+     * Creates a copy of the supplied TileTable which shares its Tiles.
+     *
+     * @param table the TileTable to copy
+     */
+    public TileTable(TileTable table) {
+        tiles = table.tiles.clone();
+        flags = table.flags.clone();
+        version = table.version;
+    }
+
+    /**
+     * Stores a Tile under its own key, replacing any Tile already stored there.
+     *
+     * @param tile the Tile to store
+     */
+    public void put(Tile tile) {
+        char key = tile.getKey();
+        if (key >= tiles.length) {
+            tiles = Arrays.copyOf(tiles, key + 1);
+            flags = Arrays.copyOf(flags, key + 1);
+        }
+        tiles[key] = tile;
+        flags[key] = flagsOf(tile);
+        version++;
+    }
+
+    public int getVersion() { return version; }
+
+    public Tile get(char key) { return key < tiles.length ? tiles[key] : null; }
+
+    public byte getFlags(char key) { return key < flags.length ? flags[key] : 0; }
+
+    public boolean isCollision(char key) { return (getFlags(key) & COLLISION) != 0; }
+
+    public boolean isDoor(char key) { return (getFlags(key) & DOOR) != 0; }
+
+    public boolean isInteractive(char key) { return (getFlags(key) & INTERACTIVE) != 0; }
+
+    public boolean isMenu(char key) { return (getFlags(key) & MENU) != 0; }
+
+    private static byte flagsOf(Tile tile) {
+        byte flags = 0;
+        if (tile.isCollision()) { flags |= COLLISION; }
+        if (tile instanceof DoorTile) { flags |= DOOR; }
+        if (tile instanceof InteractiveTile) {
+            flags |= INTERACTIVE;
+            if (((InteractiveTile) tile).isMenu()) { flags |= MENU; }
+        }
+        return flags;
+    }
+}
@@ -3,6 +3,7 @@ package utilities;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.Clip;
+import java.awt.*;
 import java.io.File;
 import java.util.concurrent.CyclicBarrier;
 
@@ -12,6 +13,9 @@ import static game.Game.GAME;
  * Manages audio files for in-game SFX.
  */
 public class GameAudio {
+    /* Without an audio device (or with -Dgame.mute=true) no clips are created and playback does nothing */
+    private static final boolean MUTE = Boolean.getBoolean("game.mute") || GraphicsEnvironment.isHeadless();
+
     public final static Clip music_bedroom = getClip("bedroom");
     public final static Clip music_exam = getClip("exam");
     public final static Clip music_heist = getClip("heist");
@@ -37,6 +41,10 @@ public class GameAudio {
      */
     public static void loadSounds(CyclicBarrier barrier) {
         try {
+            if (MUTE) {
+                barrier.await();
+                return;
+            }
             music_bedroom.open();
             music_exam.open();
             music_heist.open();
@@ -65,6 +73,7 @@ public class GameAudio {
 
     private static Clip getClip(String name) {
         Clip clip = null;
+        if (MUTE) { return null; }
         try {
             clip = AudioSystem.getClip();
             AudioInputStream sample = AudioSystem.getAudioInputStream(new File(
@@ -84,6 +93,7 @@ public class GameAudio {
     public static void startMusic(Clip clip) {
         if (GAME.getMusic() != null) { GAME.getMusic().stop(); }
         GAME.setMusic(clip);
+        if (clip == null) { return; }
         GAME.getMusic().setFramePosition(0);
         GAME.getMusic().loop(-1);
     }
@@ -97,6 +107,7 @@ public class GameAudio {
      * @param clip the clip to play
      */
     public static void playSfx(Clip clip) {
+        if (clip == null) { return; }
         clip.setFramePosition(0);
         clip.start();
     }
@@ -0,0 +1,100 @@
+package utilities;
+
+import game.Constants;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Loads and creates every image the game draws, in the format of the screen.
+ * ImageIO returns whatever raster type suits the file, and getSubimage returns views into the whole tileset, so
+ * Java2D could convert the pixels on every drawImage. Each image is instead copied once, when it is loaded, into a
+ * new image compatible with the screen's GraphicsConfiguration, which Java2D can then cache in video memory.
+ * Without a display the images are copied into plain integer RGB or ARGB images instead.
+ * With -Dgame.checkImages=true, the renderer reports each image it is given that isn't compatible.
+ */
+public class ImageLoader {
+    private static final Set<Image> reported = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * Reads an image file.
+     *
+     * @param fname the filename of the image
+     * @return a compatible copy of the image
+     * @throws IOException if the file cannot be read or found
+     */
+    public static BufferedImage read(String fname) throws IOException {
+        BufferedImage img = ImageIO.read(new File(fname));
+        if (img == null) { throw new IOException("Cannot decode " + fname + "."); }
+        return toCompatible(img);
+    }
+
+    /**
+     * Copies an image, or part of an image, into a new compatible image.
+     *
+     * @param img the image to copy
+     * @return the compatible copy
+     */
+    public static BufferedImage toCompatible(BufferedImage img) {
+        BufferedImage copy = createImage(img.getWidth(), img.getHeight(), img.getTransparency());
+        Graphics2D g = copy.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(img, 0, 0, null);
+        g.dispose();
+        return copy;
+    }
+
+    /**
+     * Creates a blank compatible image.
+     *
+     * @param width the width of the image
+     * @param height the height of the image
+     * @param transparency the Transparency of the image
+     * @return the image
+     */
+    public static BufferedImage createImage(int width, int height, int transparency) {
+        GraphicsConfiguration config = getConfiguration();
+        if (config != null) { return config.createCompatibleImage(width, height, transparency); }
+        int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        return new BufferedImage(width, height, type);
+    }
+
+    /**
+     * @return whether the image is in the screen's format and isn't a view into a larger image
+     */
+    public static boolean isCompatible(Image img) {
+        if (img instanceof VolatileImage) { return true; }
+        if (!(img instanceof BufferedImage)) { return false; }
+        BufferedImage buffered = (BufferedImage) img;
+        if (buffered.getRaster().getParent() != null) { return false; }
+        GraphicsConfiguration config = getConfiguration();
+        if (config == null) {
+            return buffered.getType() == BufferedImage.TYPE_INT_RGB || buffered.getType() == BufferedImage.TYPE_INT_ARGB;
+        }
+        return buffered.getColorModel().equals(config.getColorModel(buffered.getTransparency()));
+    }
+
+    /**
+     * Reports an image which is about to be drawn if it isn't compatible (see isCompatible).
+     * Does nothing unless -Dgame.checkImages=true is set, and each image is only reported once.
+     *
+     * @param img the image
+     * @param use what the image is being drawn as
+     */
+    public static void check(Image img, String use) {
+        if (!Constants.CHECK_IMAGES || img == null || isCompatible(img) || !reported.add(img)) { return; }
+        System.out.println("Unmanaged image reached the renderer (" + use + "): " + img);
+    }
+
+    private static GraphicsConfiguration getConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) { return null; }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+}
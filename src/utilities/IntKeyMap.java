@@ -0,0 +1,111 @@
+package utilities;
+
+/**
+ * Map Data Structure keyed by primitive ints.
+ * Used for a map's door and interactive points, keyed by their packed co-ordinates, so looking a point up doesn't
+ * allocate a Point or box an Integer. Entries are stored with open addressing and linear probing. Null values can't
+ * be stored, get returns null for a missing key.
+ *
+ * @param <V> the type of the values
+ */
+public class IntKeyMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Class constructor.
+     */
+    public IntKeyMap() {
+        keys = new int[DEFAULT_CAPACITY];
+        values = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Packs a co-ordinate into a key.
+     *
+     * @param x the x co-ordinate, which must fit in 16 bits
+     * @param y the y co-ordinate, which must fit in 16 bits
+     * @return the key of the co-ordinate
+     */
+    public static int key(int x, int y) { return (x << 16) | (y & 0xFFFF); }
+
+    public static int keyX(int key) { return key >>> 16; }
+
+    public static int keyY(int key) { return key & 0xFFFF; }
+
+    public int size() { return size; }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) { return (V) values[i]; }
+        }
+        return null;
+    }
+
+    /**
+     * Stores a value under a key, replacing any value already stored there.
+     *
+     * @param key the key
+     * @param value the value, which must not be null
+     */
+    public void put(int key, V value) {
+        if (value == null) { throw new NullPointerException("IntKeyMap values can't be null"); }
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) { grow(); }
+    }
+
+    /**
+     * Visits every entry, in no particular order.
+     *
+     * @param visitor the visitor to call for each entry
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Visitor<? super V> visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) { visitor.visit(keys[i], (V) values[i]); }
+        }
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] == null) { continue; }
+            int i = slot(oldKeys[j], mask);
+            while (values[i] != null) { i = (i + 1) & mask; }
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Receives the entries of an IntKeyMap.
+     *
+     * @param <V> the type of the values
+     */
+    public interface Visitor<V> {
+        void visit(int key, V value);
+    }
+}
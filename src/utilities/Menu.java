@@ -2,10 +2,8 @@ package utilities;
 
 import game.Game;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 import java.util.concurrent.CyclicBarrier;
 
@@ -15,8 +13,12 @@ import static game.Game.GAME;
  * Manages creating and rendering Menu shell screens.
  */
 public class Menu {
+    /* Time the player's icon on the map menu stays shown or hidden (the original loop toggled it every 5 ticks of
+     * 70 ms) */
+    private static final double BLINK_SECONDS = 0.35;
+
     private static int minimapId;
-    private static int tick = 0;
+    private static double blinkSeconds = 0;
     private static String text;
     private static String friendText;
     private static String gradeText;
@@ -85,6 +87,14 @@ public class Menu {
 
     static BufferedImage getImg(int index) { return imgs[index]; }
 
+    public static BufferedImage getImg() { return img; }
+
+    public static String getText() { return text; }
+
+    public static BufferedImage getMapImg() { return mapImg; }
+
+    public static Point getIconPoint() { return iconPoint; }
+
     public int getCurrentId() { return currentId; }
 
     public boolean isVisible() { return visible; }
@@ -182,7 +192,7 @@ public class Menu {
 
     public static void loadMapImage(int id) {
         try {
-            iconImg = ImageIO.read(new File("resources/minimaps/minimap_icon.png"));
+            iconImg = ImageLoader.read("resources/minimaps/minimap_icon.png");
             minimapId = id;
             mapImg = mapImgs[id];
         }
@@ -228,32 +238,32 @@ public class Menu {
     public static void loadImages(CyclicBarrier barrier) {
         try {
             imgs = new BufferedImage[11];
-            imgs[0] = ImageIO.read(new File("resources/menus/menu_4row.png"));
-            imgs[1] = ImageIO.read(new File("resources/menus/menu_2row_thin.png"));
-            imgs[2] = ImageIO.read(new File("resources/menus/menu_5row.png"));
-            imgs[3] = ImageIO.read(new File("resources/menus/menu_10row_wide.png"));
-            imgs[4] = ImageIO.read(new File("resources/menus/menu_5row_wide.png"));
-            imgs[5] = ImageIO.read(new File("resources/menus/menu_4row_wide.png"));
-            imgs[6] = ImageIO.read(new File("resources/menus/menu_3row.png"));
-            imgs[7] = ImageIO.read(new File("resources/menus/menu_3row_wide.png"));
-            imgs[8] = ImageIO.read(new File("resources/menus/menu_5row_medium.png"));
-            imgs[9] = ImageIO.read(new File("resources/menus/menu_3row(title).png"));
-            imgs[10] = ImageIO.read(new File("resources/menus/menu_6row.png"));
+            imgs[0] = ImageLoader.read("resources/menus/menu_4row.png");
+            imgs[1] = ImageLoader.read("resources/menus/menu_2row_thin.png");
+            imgs[2] = ImageLoader.read("resources/menus/menu_5row.png");
+            imgs[3] = ImageLoader.read("resources/menus/menu_10row_wide.png");
+            imgs[4] = ImageLoader.read("resources/menus/menu_5row_wide.png");
+            imgs[5] = ImageLoader.read("resources/menus/menu_4row_wide.png");
+            imgs[6] = ImageLoader.read("resources/menus/menu_3row.png");
+            imgs[7] = ImageLoader.read("resources/menus/menu_3row_wide.png");
+            imgs[8] = ImageLoader.read("resources/menus/menu_5row_medium.png");
+            imgs[9] = ImageLoader.read("resources/menus/menu_3row(title).png");
+            imgs[10] = ImageLoader.read("resources/menus/menu_6row.png");
             mapImgs = new BufferedImage[2];
-            mapImgs[0] = ImageIO.read(new File("resources/minimaps/minimap1.png"));
-            mapImgs[1] = ImageIO.read(new File("resources/minimaps/minimap2.png"));
+            mapImgs[0] = ImageLoader.read("resources/minimaps/minimap1.png");
+            mapImgs[1] = ImageLoader.read("resources/minimaps/minimap2.png");
             friendImgs = new BufferedImage[5];
-            friendImgs[0] = ImageIO.read(new File("resources/friendImages/friend1.png"));
-            friendImgs[1] = ImageIO.read(new File("resources/friendImages/friend2.png"));
-            friendImgs[2] = ImageIO.read(new File("resources/friendImages/friend3.png"));
-            friendImgs[3] = ImageIO.read(new File("resources/friendImages/friend4.png"));
-            friendImgs[4] = ImageIO.read(new File("resources/friendImages/friend5.png"));
+            friendImgs[0] = ImageLoader.read("resources/friendImages/friend1.png");
+            friendImgs[1] = ImageLoader.read("resources/friendImages/friend2.png");
+            friendImgs[2] = ImageLoader.read("resources/friendImages/friend3.png");
+            friendImgs[3] = ImageLoader.read("resources/friendImages/friend4.png");
+            friendImgs[4] = ImageLoader.read("resources/friendImages/friend5.png");
             gradeImgs = new BufferedImage[4];
-            gradeImgs[0] = ImageIO.read(new File("resources/gradeImages/grade_d.png"));
-            gradeImgs[1] = ImageIO.read(new File("resources/gradeImages/grade_c.png"));
-            gradeImgs[2] = ImageIO.read(new File("resources/gradeImages/grade_b.png"));
-            gradeImgs[3] = ImageIO.read(new File("resources/gradeImages/grade_a.png"));
-            titleImg = ImageIO.read(new File("resources/titlescreen.png"));
+            gradeImgs[0] = ImageLoader.read("resources/gradeImages/grade_d.png");
+            gradeImgs[1] = ImageLoader.read("resources/gradeImages/grade_c.png");
+            gradeImgs[2] = ImageLoader.read("resources/gradeImages/grade_b.png");
+            gradeImgs[3] = ImageLoader.read("resources/gradeImages/grade_a.png");
+            titleImg = ImageLoader.read("resources/titlescreen.png");
             System.out.println("menus loaded");
             barrier.await();
         } catch (Exception e) {
@@ -261,17 +271,57 @@ public class Menu {
         }
     }
 
-    private void paintSubMenu(Graphics g, int id) {
-        BufferedImage subImg;
-        String subText;
-        if (id == 0) {
-            subImg = friendImg;
-            subText = friendText;
+    /**
+     * @return the image of the friend or grade sub-menu, or null if there is none
+     */
+    public BufferedImage getSubImg() {
+        switch (currentId) {
+            case 2:
+                return friendImg;
+            case 3:
+                return gradeImg;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return the text of the friend or grade sub-menu, or null if there is none
+     */
+    public String getSubText() {
+        switch (currentId) {
+            case 2:
+                return friendText;
+            case 3:
+                return gradeText;
+            default:
+                return null;
         }
-        else {
-            subImg = gradeImg;
-            subText = gradeText;
+    }
+
+    /**
+     * Advances the blink of the player's icon on the map menu.
+     * Called once per tick with the tick's length, so the icon blinks at the same rate however often the Menu is
+     * drawn and however fast the game is ticking.
+     *
+     * @param seconds the length of the tick
+     */
+    public void updateBlink(double seconds) {
+        blinkSeconds += seconds;
+        if (blinkSeconds >= BLINK_SECONDS) {
+            blink = !blink;
+            blinkSeconds %= BLINK_SECONDS;
         }
+    }
+
+    /**
+     * @return the player's icon if it is currently shown on the map menu, otherwise null
+     */
+    public BufferedImage getShownIconImg() {
+        return currentId == 1 && blink && minimapId == GAME.getMiniMapId() ? iconImg : null;
+    }
+
+    private static void paintSubMenu(Graphics g, BufferedImage img, BufferedImage subImg, String subText) {
         try {
             int subX = Game.getWidth() - ((int)((img.getWidth() + subImg.getWidth()) * 2.3));
             g.drawImage(subImg, subX, 16, (int) (subImg.getWidth() * 2.3), (int) (subImg.getHeight() * 2.3), null);
@@ -296,7 +346,59 @@ public class Menu {
         }
     }
 
+    /**
+     * @return the area of the screen the Menu and any sub-menu or mini-map is drawn in
+     */
+    public Rectangle getBounds() { return getBounds(currentId, img, mapImg, getSubImg()); }
+
+    /**
+     * @param id the identification of the Menu type
+     * @param img the Menu image
+     * @param mapImg the mini-map image
+     * @param subImg the sub-menu image (can be null)
+     * @return the area of the screen a Menu with the supplied state is drawn in
+     */
+    public static Rectangle getBounds(int id, BufferedImage img, BufferedImage mapImg, BufferedImage subImg) {
+        Rectangle bounds = new Rectangle(Game.getWidth() - ((img.getWidth() * 2) + 16), 16,
+                img.getWidth() * 2 + 16, img.getHeight() * 2);
+        switch (id) {
+            case 1:
+                bounds.add(new Rectangle((Game.getWidth() - (mapImg.getWidth() * 2)) / 2,
+                        (Game.getHeight() - (mapImg.getHeight() * 2)) / 2, mapImg.getWidth() * 2,
+                        mapImg.getHeight() * 2));
+                break;
+            case 2:
+            case 3:
+                if (subImg != null) {
+                    int subX = Game.getWidth() - ((int)((img.getWidth() + subImg.getWidth()) * 2.3));
+                    bounds.add(new Rectangle(subX, 16, Game.getWidth() - subX,
+                            Math.max((int) (subImg.getHeight() * 2.3), 180)));
+                }
+                break;
+        }
+        return bounds;
+    }
+
     public void paintComponent(Graphics g) {
+        paint(g, currentId, img, text, mapImg, getShownIconImg(), iconPoint, getSubImg(), getSubText());
+    }
+
+    /**
+     * Renders a Menu from previously captured state.
+     *
+     * @param g the graphics
+     * @param id the identification of the Menu type
+     * @param img the Menu image
+     * @param text the Menu text
+     * @param mapImg the mini-map image
+     * @param iconImg the player's icon on the mini-map (can be null)
+     * @param iconPoint the position of the player's icon on the mini-map
+     * @param subImg the sub-menu image (can be null)
+     * @param subText the sub-menu text (can be null)
+     */
+    public static void paint(Graphics g, int id, BufferedImage img, String text, BufferedImage mapImg,
+                             BufferedImage iconImg, Point iconPoint, BufferedImage subImg, String subText) {
+        ImageLoader.check(img, "menu");
         g.setColor(Color.black);
         g.drawImage(img, Game.getWidth() - ((img.getWidth() * 2) + 16), 16,
                 img.getWidth() * 2, img.getHeight() * 2, null);
@@ -307,26 +409,19 @@ public class Menu {
                     (g.getFontMetrics().getHeight() + 16) * lineIndex);
             lineIndex++;
         }
-        switch (currentId) {
+        switch (id) {
             case 1:
-                tick++;
-                if (tick == 5) {
-                    blink = !blink;
-                    tick = 0;
-                }
                 int mapX = (Game.getWidth() - (mapImg.getWidth() * 2)) / 2;
                 int mapY = (Game.getHeight() - (mapImg.getHeight() * 2)) / 2;
                 g.drawImage(mapImg, mapX, mapY, mapImg.getWidth() * 2, mapImg.getHeight() * 2, null);
-                if (blink && minimapId == GAME.getMiniMapId()) {
-                    g.drawImage(iconImg, mapX + Menu.iconPoint.x, mapY + Menu.iconPoint.y, iconImg.getWidth() * 2,
+                if (iconImg != null) {
+                    g.drawImage(iconImg, mapX + iconPoint.x, mapY + iconPoint.y, iconImg.getWidth() * 2,
                             iconImg.getHeight()* 2, null);
                 }
                 break;
             case 2:
-                paintSubMenu(g, 0);
-                break;
             case 3:
-                paintSubMenu(g, 1);
+                paintSubMenu(g, img, subImg, subText);
                 break;
         }
     }
@@ -2,11 +2,9 @@ package utilities;
 
 import game.Game;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 
 /**
@@ -14,7 +12,7 @@ import java.io.IOException;
  */
 public class SplashScreen extends JComponent {
 
-    private final BufferedImage img = ImageIO.read(new File("resources/loadingscreen.png"));
+    private final BufferedImage img = ImageLoader.read("resources/loadingscreen.png");
 
     public SplashScreen() throws IOException {
     }
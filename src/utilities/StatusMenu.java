@@ -32,6 +32,12 @@ public class StatusMenu {
 
     public void setCurrentId(int currentId) { this.currentId = currentId; }
 
+    public static String getText() { return text; }
+
+    public static String getSubText() { return subText; }
+
+    public static BufferedImage getImg() { return img; }
+
     /**
      * Sets the StatusMenu images and text.
      *
@@ -87,7 +93,7 @@ public class StatusMenu {
      * @param lineIndex the index of the line to change
      * @return the colour to write the text in
      */
-    private Color setColours(int lineIndex) {
+    public Color getColour(int lineIndex) {
         switch (GAME.getStatusMenu().currentId) {
             case 0:
                 switch (lineIndex) {
@@ -161,14 +167,31 @@ public class StatusMenu {
                 return Color.black;
         }
     }
-    public void paintComponent(Graphics g) {
+
+    /**
+     * @return the area of the screen a StatusMenu with the supplied image is drawn in
+     */
+    public static Rectangle getBounds(BufferedImage img) {
+        return new Rectangle(16, 16, img.getWidth() * 2, img.getHeight() * 2);
+    }
+
+    /**
+     * Renders a StatusMenu from previously captured state.
+     *
+     * @param g the graphics
+     * @param img the StatusMenu image
+     * @param text the StatusMenu text
+     * @param subText the StatusMenu sub-text (can be null)
+     * @param colours the colour of each line of text
+     */
+    public static void paint(Graphics g, BufferedImage img, String text, String subText, Color[] colours) {
         g.setColor(Color.black);
         g.drawImage(img, 16, 16, img.getWidth() * 2, img.getHeight() * 2, null);
         g.setFont(GameFont.getBigFont());
         int height = g.getFontMetrics().getHeight();
         int lineIndex = 0;
         for (String line : text.split("#")) {
-            g.setColor(setColours(lineIndex));
+            g.setColor(colours[lineIndex]);
             g.drawString(line, 26, 48 + (height + 16) * lineIndex);
             lineIndex++;
         }
@@ -176,7 +199,7 @@ public class StatusMenu {
             g.setFont(GameFont.getSmallUnderline());
             lineIndex = 0;
             for (String line : subText.split("#")) {
-                g.setColor(setColours(lineIndex));
+                g.setColor(colours[lineIndex]);
                 g.drawString(line, 26 + ((11 - line.length()) * 12), 62 + (height + 16) * lineIndex);
                 lineIndex++;
             }
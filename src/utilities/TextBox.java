@@ -3,10 +3,8 @@ package utilities;
 import game.Game;
 import objects.NPC;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 import java.util.concurrent.CyclicBarrier;
 
@@ -65,6 +63,46 @@ public class TextBox {
 
     public boolean isSkip() { return skip; }
 
+    public String getText() { return text; }
+
+    public BufferedImage getImg() { return img; }
+
+    public String getNpcName() { return npcName; }
+
+    public BufferedImage getNpcImg() { return npcImg; }
+
+    /**
+     * @return the area of the screen the TextBox is drawn in
+     */
+    public Rectangle getBounds() { return getBounds(id, img, npcImg); }
+
+    /**
+     * @param id the identification of the TextBox type
+     * @param img the TextBox image
+     * @param npcImg the image of the NPC who triggered the TextBox (can be null)
+     * @return the area of the screen a TextBox with the supplied state is drawn in
+     */
+    public static Rectangle getBounds(int id, BufferedImage img, BufferedImage npcImg) {
+        int top;
+        switch (id) {
+            case 1:
+            case 6:
+            case 7:
+                return new Rectangle(0, 0, Game.getWidth(), img.getHeight() * 3);
+            case 2:
+            case 4:
+                top = Math.min(Game.getHeight() - 152, Game.getHeight() - (126 + (int) (npcImg.getHeight() * 2.3)));
+                break;
+            case 5:
+                top = Game.getHeight() - 178;
+                break;
+            default:
+                top = Game.getHeight() - 136;
+                break;
+        }
+        return new Rectangle(0, top, Game.getWidth(), Game.getHeight() - top);
+    }
+
     /**
      * Sets the TextBox images and skip-ability.
      *
@@ -107,17 +145,17 @@ public class TextBox {
     public static void loadImages(CyclicBarrier barrier) {
         try {
             imgs = new BufferedImage[5];
-            imgs[0] = ImageIO.read(new File("resources/textboxes/textbox.png"));
-            imgs[1] = ImageIO.read(new File("resources/textboxes/textbox_whiteboard1.png"));
-            imgs[2] = ImageIO.read(new File("resources/textboxes/textbox_med.png"));
-            imgs[3] = ImageIO.read(new File("resources/textboxes/textbox_whiteboard2.png"));
-            imgs[4] = ImageIO.read(new File("resources/textboxes/textbox_whiteboard3.png"));
+            imgs[0] = ImageLoader.read("resources/textboxes/textbox.png");
+            imgs[1] = ImageLoader.read("resources/textboxes/textbox_whiteboard1.png");
+            imgs[2] = ImageLoader.read("resources/textboxes/textbox_med.png");
+            imgs[3] = ImageLoader.read("resources/textboxes/textbox_whiteboard2.png");
+            imgs[4] = ImageLoader.read("resources/textboxes/textbox_whiteboard3.png");
             npcImgs = new BufferedImage[5];
-            npcImgs[0] = ImageIO.read(new File("resources/friendImages/friend1.png"));
-            npcImgs[1] = ImageIO.read(new File("resources/friendImages/friend2.png"));
-            npcImgs[2] = ImageIO.read(new File("resources/friendImages/friend3.png"));
-            npcImgs[3] = ImageIO.read(new File("resources/friendImages/friend4.png"));
-            npcImgs[4] = ImageIO.read(new File("resources/friendImages/friend5.png"));
+            npcImgs[0] = ImageLoader.read("resources/friendImages/friend1.png");
+            npcImgs[1] = ImageLoader.read("resources/friendImages/friend2.png");
+            npcImgs[2] = ImageLoader.read("resources/friendImages/friend3.png");
+            npcImgs[3] = ImageLoader.read("resources/friendImages/friend4.png");
+            npcImgs[4] = ImageLoader.read("resources/friendImages/friend5.png");
             System.out.println("text boxes loaded");
             barrier.await();
         } catch (Exception e) {
@@ -125,7 +163,21 @@ public class TextBox {
         }
     }
 
-    public void paintComponent(Graphics g) {
+    public void paintComponent(Graphics g) { paint(g, id, img, text, npcImg, npcName); }
+
+    /**
+     * Renders a TextBox from previously captured state.
+     *
+     * @param g the graphics
+     * @param id the identification of the TextBox type
+     * @param img the TextBox image
+     * @param text the TextBox text
+     * @param npcImg the image of the NPC who triggered the TextBox (can be null)
+     * @param npcName the name of the NPC who triggered the TextBox (can be null)
+     */
+    public static void paint(Graphics g, int id, BufferedImage img, String text, BufferedImage npcImg,
+                             String npcName) {
+        ImageLoader.check(img, "text box");
         g.setColor(Color.black);
         int lineIndex;
         switch (id) {
@@ -0,0 +1,137 @@
+package utilities;
+
+import game.Constants;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Packs every tile, character sprite and Emotion cell into a few large images.
+ * Cells are added as their tilesets are read, and each distinct cell is given an integer handle. Cells with the same
+ * pixels share one handle and one image, so the walls, floors and '#' tiles repeated in every school tileset are
+ * only stored once. The renderer draws a cell by its handle, copying it out of the page it was packed into, so
+ * every tile and sprite on screen comes from the same one or two accelerated images.
+ * Handles are never reused and cells are never changed once they are added.
+ */
+public class TextureAtlas {
+    public static final int NONE = -1;
+
+    private static final int CELL_SIZE = Constants.TILE_WIDTH;
+    private static final int PAGE_CELLS_SHIFT = 5;
+    private static final int PAGE_CELLS = 1 << PAGE_CELLS_SHIFT;
+    private static final int PAGE_SIZE = PAGE_CELLS * CELL_SIZE;
+
+    private static final Map<Cell, Integer> handlesByPixels = new HashMap<>();
+    private static final Map<BufferedImage, Integer> handlesByImage = new IdentityHashMap<>();
+    private static BufferedImage[] images = new BufferedImage[64];
+    private static volatile BufferedImage[] pages = new BufferedImage[0];
+    private static int count;
+
+    /**
+     * Adds a cell to the atlas, unless a cell with the same pixels has already been added.
+     *
+     * @param cell a tile-sized image
+     * @return the image stored for the cell's handle, which should be used in place of the cell
+     */
+    public static synchronized BufferedImage intern(BufferedImage cell) {
+        int handle = getHandle(cell);
+        return images[handle];
+    }
+
+    /**
+     * Finds the handle of a cell, adding the cell to the atlas if it hasn't been added already.
+     * Only the images stored for handles are remembered by identity, so a duplicate cell isn't kept alive by the
+     * atlas; looking one up again compares its pixels. Keep the image from intern or getImage to avoid that.
+     *
+     * @param cell a tile-sized image
+     * @return the cell's handle
+     * @throws IllegalArgumentException if the image isn't the size of a tile
+     */
+    public static synchronized int getHandle(BufferedImage cell) {
+        Integer handle = handlesByImage.get(cell);
+        if (handle != null) { return handle; }
+        if (cell.getWidth() != CELL_SIZE || cell.getHeight() != CELL_SIZE) {
+            throw new IllegalArgumentException("Atlas cells must be " + CELL_SIZE + "x" + CELL_SIZE + ".");
+        }
+        Cell key = new Cell(cell.getRGB(0, 0, CELL_SIZE, CELL_SIZE, null, 0, CELL_SIZE));
+        handle = handlesByPixels.get(key);
+        if (handle == null) {
+            handle = add(cell);
+            handlesByPixels.put(key, handle);
+            handlesByImage.put(cell, handle);
+        }
+        return handle;
+    }
+
+    public static synchronized BufferedImage getImage(int handle) { return images[handle]; }
+
+    /**
+     * Draws a cell at its own size.
+     *
+     * @param g the graphics
+     * @param handle the cell's handle
+     * @param x the x co-ordinate to draw at
+     * @param y the y co-ordinate to draw at
+     */
+    public static void draw(Graphics g, int handle, int x, int y) { draw(g, handle, x, y, CELL_SIZE, CELL_SIZE); }
+
+    /**
+     * Draws a cell.
+     *
+     * @param g the graphics
+     * @param handle the cell's handle
+     * @param x the x co-ordinate to draw at
+     * @param y the y co-ordinate to draw at
+     * @param width the width to draw the cell at
+     * @param height the height to draw the cell at
+     */
+    public static void draw(Graphics g, int handle, int x, int y, int width, int height) {
+        BufferedImage page = pages[handle >> (2 * PAGE_CELLS_SHIFT)];
+        int cell = handle & (PAGE_CELLS * PAGE_CELLS - 1);
+        int sx = (cell & (PAGE_CELLS - 1)) * CELL_SIZE;
+        int sy = (cell >> PAGE_CELLS_SHIFT) * CELL_SIZE;
+        ImageLoader.check(page, "texture atlas");
+        g.drawImage(page, x, y, x + width, y + height, sx, sy, sx + CELL_SIZE, sy + CELL_SIZE, null);
+    }
+
+    private static int add(BufferedImage cell) {
+        int handle = count++;
+        int page = handle >> (2 * PAGE_CELLS_SHIFT);
+        if (page == pages.length) {
+            BufferedImage[] grown = Arrays.copyOf(pages, page + 1);
+            grown[page] = ImageLoader.createImage(PAGE_SIZE, PAGE_SIZE, Transparency.TRANSLUCENT);
+            pages = grown;
+        }
+        int index = handle & (PAGE_CELLS * PAGE_CELLS - 1);
+        Graphics2D g = pages[page].createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(cell, (index & (PAGE_CELLS - 1)) * CELL_SIZE, (index >> PAGE_CELLS_SHIFT) * CELL_SIZE, null);
+        g.dispose();
+        if (handle == images.length) { images = Arrays.copyOf(images, handle * 2); }
+        images[handle] = cell;
+        return handle;
+    }
+
+    /**
+     * The pixels of a cell, compared by value.
+     */
+    private static class Cell {
+        private final int[] pixels;
+        private final int hash;
+
+        Cell(int[] pixels) {
+            this.pixels = pixels;
+            hash = Arrays.hashCode(pixels);
+        }
+
+        @Override
+        public boolean equals(Object o) { return o instanceof Cell && Arrays.equals(pixels, ((Cell) o).pixels); }
+
+        @Override
+        public int hashCode() { return hash; }
+    }
+}
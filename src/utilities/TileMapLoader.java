@@ -4,11 +4,11 @@ import game.TileMap;
 import objects.DoorTile;
 import objects.InteractiveTile;
 import objects.Tile;
+import objects.TileTable;
 
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.TreeMap;
 import java.util.concurrent.CyclicBarrier;
 
 /**
@@ -42,15 +42,15 @@ public class TileMapLoader {
     }
 
     /**
-     * Reads a supplied tileset image and creates a List of Tiles for a TileMap.
+     * Reads a supplied tileset image and creates the TileTable for a TileMap.
      *
      * @param id the identification of the TileMap
      * @param fname the filename of the tileset
-     * @return the List of Tiles for a TileMap
+     * @return the TileTable of Tiles for a TileMap
      */
-    public static TreeMap<Character, Tile> readTileSet(int id, String fname) {
+    public static TileTable readTileSet(int id, String fname) {
         List<BufferedImage> images;
-        TreeMap<Character, Tile> tiles = new TreeMap<>();
+        TileTable tiles = new TileTable();
         Tile tile;
         try {
             switch (id) {
@@ -63,72 +63,72 @@ public class TileMapLoader {
                             /* Black Space */
                             case 0:
                                 tile = new Tile(images.get(i), true, '#');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Wall */
                             case 1:
                                 tile = new Tile(images.get(i), true, 'W');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Window */
                             case 2:
                                 tile = new InteractiveTile(images.get(i), true, 'w', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Floor */
                             case 3:
                                 tile = new Tile(images.get(i), false, '-');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Doormat L */
                             case 4:
                                 tile = new Tile(images.get(i), false, 'L');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Doormat R */
                             case 5:
                                 tile = new Tile(images.get(i), false, 'R');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Door 1 */
                             case 6:
                                 tile = new DoorTile(images.get(i), 'D');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Door 2 */
                             case 7:
                                 tile = new DoorTile(images.get(i), 'd');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Up Staircase */
                             case 8:
                                 tile = new DoorTile(images.get(i), '^');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Down Staircase */
                             case 9:
                                 tile = new DoorTile(images.get(i), 'v');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Sign */
                             case 10:
                                 tile = new InteractiveTile(images.get(i), true, '?', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Locked Door */
                             case 11:
                                 tile = new DoorTile(images.get(i), '$');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Air Vent */
                             case 12:
                                 tile = new InteractiveTile(images.get(i), true, 'A', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Go home door */
                             case 13:
                                 tile = new DoorTile(images.get(i), '£');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                         }
                     }
@@ -142,147 +142,147 @@ public class TileMapLoader {
                             /* Black Space */
                             case 0:
                                 tile = new Tile(images.get(i), true, '#');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Wall */
                             case 1:
                                 tile = new Tile(images.get(i), true, 'W');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Whiteboard 1 */
                             case 2:
                                 tile = new InteractiveTile(images.get(i), true, '[', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Whiteboard 2 */
                             case 3:
                                 tile = new InteractiveTile(images.get(i), true, '=', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Whiteboard 3 */
                             case 4:
                                 tile = new InteractiveTile(images.get(i), true, ']', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Floor */
                             case 5:
                                 tile = new Tile(images.get(i), false, '-');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Chair */
                             case 6:
                                 tile = new Tile(images.get(i), false, 'n');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Doormat L */
                             case 7:
                                 tile = new Tile(images.get(i), false, 'L');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Doormat R */
                             case 8:
                                 tile = new Tile(images.get(i), false, 'R');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Invisible Door */
                             case 9:
                                 tile = new DoorTile(images.get(i), ' ');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Desk */
                             case 10:
                                 tile = new Tile(images.get(i), true, 'D');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Bookcase Top */
                             case 11:
                                 tile = new Tile(images.get(i), true, 'h');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Bookcase Bottom */
                             case 12:
                                 tile = new InteractiveTile(images.get(i), true, 'H', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Fridge Top */
                             case 13:
                                 tile = new Tile(images.get(i), true, 'f');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Fridge Bottom */
                             case 14:
                                 tile = new InteractiveTile(images.get(i), true, 'F', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Sink */
                             case 15:
                                 tile = new InteractiveTile(images.get(i), true, 'S', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Oven */
                             case 16:
                                 tile = new InteractiveTile(images.get(i), true, 'O', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Tool Shelf Top L */
                             case 17:
                                 tile = new Tile(images.get(i), true, '1');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Tool Shelf Top R */
                             case 18:
                                 tile = new Tile(images.get(i), true, '2');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Tool Shelf Bottom L */
                             case 19:
                                 tile = new InteractiveTile(images.get(i), true, '3', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Tool Shelf Bottom R */
                             case 20:
                                 tile = new InteractiveTile(images.get(i), true, '4', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Work Bench Top L */
                             case 21:
                                 tile = new InteractiveTile(images.get(i), true, '5', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Work Bench Top R */
                             case 22:
                                 tile = new InteractiveTile(images.get(i), true, '6', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Work Bench Bottom L */
                             case 23:
                                 tile = new InteractiveTile(images.get(i), true, '7', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Work Bench Bottom R */
                             case 24:
                                 tile = new InteractiveTile(images.get(i), true, '8', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Computer Desk Top L */
                             case 25:
                                 tile = new InteractiveTile(images.get(i), true, 'p', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Computer Desk Top R */
                             case 26:
                                 tile = new InteractiveTile(images.get(i), true, 'c', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Computer Desk Bottom L */
                             case 27:
                                 tile = new Tile(images.get(i), false, 'P');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Computer Desk Bottom R */
                             case 28:
                                 tile = new Tile(images.get(i), false, 'C');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                         }
                     }
@@ -296,112 +296,112 @@ public class TileMapLoader {
                             /* Black Space */
                             case 0:
                                 tile = new Tile(images.get(i), true, '#');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Wall */
                             case 1:
                                 tile = new Tile(images.get(i), true, 'W');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Floor */
                             case 2:
                                 tile = new Tile(images.get(i), false, '-');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Chair */
                             case 3:
                                 tile = new Tile(images.get(i), false, 'n');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Doormat L */
                             case 4:
                                 tile = new Tile(images.get(i), false, 'L');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Doormat R */
                             case 5:
                                 tile = new Tile(images.get(i), false, 'R');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Invisible Door */
                             case 6:
                                 tile = new DoorTile(images.get(i), ' ');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Counter 1 */
                             case 7:
                                 tile = new Tile(images.get(i), true, '1');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Counter 2 */
                             case 8:
                                 tile = new Tile(images.get(i), true, '2');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Counter 3 */
                             case 9:
                                 tile = new Tile(images.get(i), true, '3');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Counter 4 */
                             case 10:
                                 tile = new Tile(images.get(i), true, '4');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Table Top L */
                             case 11:
                                 tile = new Tile(images.get(i), true, '5');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Table Top R */
                             case 12:
                                 tile = new Tile(images.get(i), true, '6');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Table Middle L */
                             case 13:
                                 tile = new Tile(images.get(i), true, '7');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Table Middle R */
                             case 14:
                                 tile = new Tile(images.get(i), true, '8');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Table Bottom L */
                             case 15:
                                 tile = new Tile(images.get(i), true, '9');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Table Middle R */
                             case 16:
                                 tile = new Tile(images.get(i), true, '0');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Fridge Top */
                             case 17:
                                 tile = new Tile(images.get(i), true, 'f');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Fridge Bottom */
                             case 18:
                                 tile = new InteractiveTile(images.get(i), true, 'F', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Sink */
                             case 19:
                                 tile = new InteractiveTile(images.get(i), true, 'S', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Oven */
                             case 20:
                                 tile = new InteractiveTile(images.get(i), true, 'O', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Counter 5 */
                             case 21:
                                 tile = new Tile(images.get(i), true, '!');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                         }
                     }
@@ -415,157 +415,157 @@ public class TileMapLoader {
                             /* Black Space */
                             case 0:
                                 tile = new Tile(images.get(i), true, '#');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Tree Top */
                             case 1:
                                 tile = new Tile(images.get(i), true, 't');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Tree Bottom */
                             case 2:
                                 tile = new Tile(images.get(i), true, 'T');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Floor */
                             case 3:
                                 tile = new Tile(images.get(i), false, '-');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Running Track */
                             case 4:
                                 tile = new Tile(images.get(i), false, '~');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Grass */
                             case 5:
                                 tile = new Tile(images.get(i), false, 'G');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Doormat L */
                             case 6:
                                 tile = new Tile(images.get(i), false, 'L');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Doormat R */
                             case 7:
                                 tile = new Tile(images.get(i), false, 'R');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Invisible Door */
                             case 8:
                                 tile = new DoorTile(images.get(i), ' ');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Fence Top L */
                             case 9:
                                 tile = new Tile(images.get(i), true, '[');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Fence Top M */
                             case 10:
                                 tile = new Tile(images.get(i), true, '+');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Fence Top R */
                             case 11:
                                 tile = new Tile(images.get(i), true, ']');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Fence Down L */
                             case 12:
                                 tile = new Tile(images.get(i), true, '(');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Fence Down R */
                             case 13:
                                 tile = new Tile(images.get(i), true, ')');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Sign */
                             case 14:
                                 tile = new InteractiveTile(images.get(i), true, '?', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Roof Top L */
                             case 15:
                                 tile = new Tile(images.get(i), true, '<');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Roof Top M */
                             case 16:
                                 tile = new Tile(images.get(i), true, '=');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Roof Top R */
                             case 17:
                                 tile = new Tile(images.get(i), true, '>');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Roof Bottom L */
                             case 18:
                                 tile = new Tile(images.get(i), true, '/');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Roof Bottom C */
                             case 19:
                                 tile = new Tile(images.get(i), true, '_');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Roof Bottom R */
                             case 20:
                                 tile = new Tile(images.get(i), true, '\\');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Building Top L */
                             case 21:
                                 tile = new Tile(images.get(i), true, '1');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Building Top M */
                             case 22:
                                 tile = new Tile(images.get(i), true, '2');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Building Top R */
                             case 23:
                                 tile = new Tile(images.get(i), true, '3');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Building Middle L */
                             case 24:
                                 tile = new Tile(images.get(i), true, '4');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Building Middle M */
                             case 25:
                                 tile = new Tile(images.get(i), true, '5');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Building Middle R */
                             case 26:
                                 tile = new Tile(images.get(i), true, '6');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Building Bottom L */
                             case 27:
                                 tile = new Tile(images.get(i), true, '7');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Building Bottom M */
                             case 28:
                                 tile = new Tile(images.get(i), true, '8');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Building Bottom R */
                             case 29:
                                 tile = new Tile(images.get(i), true, '9');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Door */
                             case 30:
                                 tile = new Tile(images.get(i), true, 'D');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                         }
                     }
@@ -579,72 +579,72 @@ public class TileMapLoader {
                             /* Black Space */
                             case 0:
                                 tile = new Tile(images.get(i), true, '#');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Wall */
                             case 1:
                                 tile = new Tile(images.get(i), true, 'W');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Computer Top */
                             case 2:
                                 tile = new Tile(images.get(i), true, 'P');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* TV top */
                             case 3:
                                 tile = new Tile(images.get(i), true, 'T');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Bookcase Top */
                             case 4:
                                 tile = new Tile(images.get(i), true, 'B');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Floor */
                             case 5:
                                 tile = new Tile(images.get(i), false, '-');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Computer Bottom */
                             case 6:
                                 tile = new InteractiveTile(images.get(i), true, 'C', true);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Chair */
                             case 7:
                                 tile = new Tile(images.get(i), false, 'h');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Game */
                             case 8:
                                 tile = new InteractiveTile(images.get(i), true, 'G', true);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* TV Bottom */
                             case 9:
                                 tile = new Tile(images.get(i), true, 'V');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Bookcase Bottom */
                             case 10:
                                 tile = new InteractiveTile(images.get(i), true, 'c', true);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Door */
                             case 11:
                                 tile = new InteractiveTile(images.get(i), true, 'D', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Bed Top */
                             case 12:
                                 tile = new InteractiveTile(images.get(i), true, 'n', true);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Bed Bottom */
                             case 13:
                                 tile = new InteractiveTile(images.get(i), true, 'U', true);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                         }
                     }
@@ -657,187 +657,187 @@ public class TileMapLoader {
                             /* Black Space */
                             case 0:
                                 tile = new Tile(images.get(i), true, '#');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Wall */
                             case 1:
                                 tile = new Tile(images.get(i), true, 'W');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Computer Top */
                             case 2:
                                 tile = new Tile(images.get(i), true, 'P');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* TV top */
                             case 3:
                                 tile = new Tile(images.get(i), true, 'T');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Bookcase Top */
                             case 4:
                                 tile = new Tile(images.get(i), true, 'h');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Fridge Top */
                             case 5:
                                 tile = new Tile(images.get(i), true, 'f');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Room Divider bottom */
                             case 6:
                                 tile = new Tile(images.get(i), true, '8');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Room Divider Top */
                             case 7:
                                 tile = new Tile(images.get(i), true, '7');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Window */
                             case 8:
                                 tile = new InteractiveTile(images.get(i), true, 'w', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Floor */
                             case 9:
                                 tile = new Tile(images.get(i), false, '-');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Doormat L */
                             case 10:
                                 tile = new Tile(images.get(i), false, 'L');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Doormat R */
                             case 11:
                                 tile = new Tile(images.get(i), false, 'R');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Chair */
                             case 12:
                                 tile = new Tile(images.get(i), false, 'n');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Computer Bottom */
                             case 13:
                                 tile = new InteractiveTile(images.get(i), true, 'C', true);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* TV Bottom */
                             case 14:
                                 tile = new InteractiveTile(images.get(i), true, 'V', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Bookcase Bottom */
                             case 15:
                                 tile = new InteractiveTile(images.get(i), true, 'H', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Fridge Bottom */
                             case 16:
                                 tile = new InteractiveTile(images.get(i), true, 'F', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Sink */
                             case 17:
                                 tile = new InteractiveTile(images.get(i), true, 'S', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Chest */
                             case 18:
                                 tile = new InteractiveTile(images.get(i), true, 'B', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Stool */
                             case 19:
                                 tile = new Tile(images.get(i), true, 'o');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Oven */
                             case 20:
                                 tile = new InteractiveTile(images.get(i), true, 'O', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Table top L */
                             case 21:
                                 tile = new Tile(images.get(i), true, '1');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Table top R */
                             case 22:
                                 tile = new Tile(images.get(i), true, '2');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Table middle L */
                             case 23:
                                 tile = new Tile(images.get(i), true, '3');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Table middle R */
                             case 24:
                                 tile = new Tile(images.get(i), true, '4');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Table bottom L */
                             case 25:
                                 tile = new Tile(images.get(i), true, '5');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Table bottom R */
                             case 26:
                                 tile = new Tile(images.get(i), true, '6');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Desk top L */
                             case 27:
                                 tile = new Tile(images.get(i), true, '<');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Desk top R */
                             case 28:
                                 tile = new Tile(images.get(i), true, '>');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Desk bottom L */
                             case 29:
                                 tile = new Tile(images.get(i), false, '\\');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Desk bottom R */
                             case 30:
                                 tile = new Tile(images.get(i), false, '/');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Plant top */
                             case 31:
                                 tile = new Tile(images.get(i), true, '^');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Plant bottom */
                             case 32:
                                 tile = new Tile(images.get(i), true, 'X');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Invisible Door */
                             case 33:
                                 tile = new DoorTile(images.get(i), ' ');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Sign */
                             case 34:
                                 tile = new InteractiveTile(images.get(i), true, '?', false);
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Couch left */
                             case 35:
                                 tile = new Tile(images.get(i), true, '(');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                             /* Couch right */
                             case 36:
                                 tile = new Tile(images.get(i), true, ')');
-                                tiles.put(tile.getKey(), tile);
+                                tiles.put(tile);
                                 break;
                         }
                     }
@@ -23,8 +23,9 @@ public class TileSet {
         }
         for(int i = 0; i < rows; i++) {
             for(int j = 0; j < cols; j++) {
-                images.add((i * cols) + j, ts.getSubimage(j * Constants.TILE_WIDTH, i * Constants.TILE_WIDTH,
-                        Constants.TILE_WIDTH, Constants.TILE_HEIGHT));
+                images.add((i * cols) + j, TextureAtlas.intern(ImageLoader.toCompatible(ts.getSubimage(
+                        j * Constants.TILE_WIDTH, i * Constants.TILE_WIDTH, Constants.TILE_WIDTH,
+                        Constants.TILE_HEIGHT))));
             }
         }
         return images;
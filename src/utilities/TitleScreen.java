@@ -87,8 +87,8 @@ public class TitleScreen extends JComponent implements MouseListener, MouseMotio
 
         } catch (NullPointerException e1) { /* Mouse is out of frame */ }
 
-        if (click) { this.setCursor(new Cursor(Cursor.HAND_CURSOR)); }
-        else { this.setCursor(new Cursor(Cursor.DEFAULT_CURSOR)); }
+        if (click) { e.getComponent().setCursor(new Cursor(Cursor.HAND_CURSOR)); }
+        else { e.getComponent().setCursor(new Cursor(Cursor.DEFAULT_CURSOR)); }
     }
 
     public Dimension getPreferredSize() { return new Dimension(Game.getWidth(), Game.getHeight()); }
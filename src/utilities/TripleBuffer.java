@@ -0,0 +1,49 @@
+package utilities;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free triple buffer Data Structure.
+ * Used to hand RenderSnapshots from the simulation thread to the rendering thread. The writer always owns one slot,
+ * the reader always owns another, and the third is swapped between them, so neither side ever waits for the other.
+ */
+public class TripleBuffer<T> {
+    private static final int FRESH = 4;
+
+    private final Object[] slots = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+
+    /**
+     * Class constructor.
+     *
+     * @param factory creates each of the three slots
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < slots.length; i++) { slots[i] = factory.get(); }
+    }
+
+    /**
+     * @return the slot the writer should fill next (writer thread only)
+     */
+    @SuppressWarnings("unchecked")
+    public T getBack() { return (T) slots[back]; }
+
+    /**
+     * Makes the filled back slot available to the reader and takes the spare slot as the new back slot.
+     */
+    public void publish() { back = middle.getAndSet(back | FRESH) & 3; }
+
+    /**
+     * Takes the most recently published slot if there is one (reader thread only).
+     *
+     * @return the newest slot available to the reader
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) { front = middle.getAndSet(front) & 3; }
+        return (T) slots[front];
+    }
+}